@@ -0,0 +1,60 @@
+package com.dino.backend.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "app.conversation")
+public class ConversationWindowProperties {
+    // Most recent messages always sent verbatim (subject to the token budget)
+    private int verbatimMessages = 12;
+    // Older messages are folded into the rolling summary once this many have piled up
+    private int summaryBatchSize = 10;
+    // Estimated tokens allowed for summary plus verbatim history
+    private int tokenBudget = 3000;
+    // Messages kept per session in the server-side history buffer
+    private int historyBufferSize = 50;
+    // Sessions whose history buffer is kept in memory
+    private int historyCacheSessions = 10_000;
+
+    // Getters and setters
+    public int getVerbatimMessages() {
+        return verbatimMessages;
+    }
+
+    public void setVerbatimMessages(int verbatimMessages) {
+        this.verbatimMessages = verbatimMessages;
+    }
+
+    public int getSummaryBatchSize() {
+        return summaryBatchSize;
+    }
+
+    public void setSummaryBatchSize(int summaryBatchSize) {
+        this.summaryBatchSize = summaryBatchSize;
+    }
+
+    public int getTokenBudget() {
+        return tokenBudget;
+    }
+
+    public void setTokenBudget(int tokenBudget) {
+        this.tokenBudget = tokenBudget;
+    }
+
+    public int getHistoryBufferSize() {
+        return historyBufferSize;
+    }
+
+    public void setHistoryBufferSize(int historyBufferSize) {
+        this.historyBufferSize = historyBufferSize;
+    }
+
+    public int getHistoryCacheSessions() {
+        return historyCacheSessions;
+    }
+
+    public void setHistoryCacheSessions(int historyCacheSessions) {
+        this.historyCacheSessions = historyCacheSessions;
+    }
+}
@@ -0,0 +1,50 @@
+package com.dino.backend.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "app.feedback-cache")
+public class FeedbackCacheProperties {
+    private boolean enabled = true;
+    private long maximumSize = 50_000;
+    private Duration ttl = Duration.ofDays(7);
+
+    // Longer messages are rarely repeated verbatim and are not cached
+    private int maxSentenceLength = 200;
+
+    // Getters and setters
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public long getMaximumSize() {
+        return maximumSize;
+    }
+
+    public void setMaximumSize(long maximumSize) {
+        this.maximumSize = maximumSize;
+    }
+
+    public Duration getTtl() {
+        return ttl;
+    }
+
+    public void setTtl(Duration ttl) {
+        this.ttl = ttl;
+    }
+
+    public int getMaxSentenceLength() {
+        return maxSentenceLength;
+    }
+
+    public void setMaxSentenceLength(int maxSentenceLength) {
+        this.maxSentenceLength = maxSentenceLength;
+    }
+}
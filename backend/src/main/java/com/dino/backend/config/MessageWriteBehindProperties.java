@@ -0,0 +1,66 @@
+package com.dino.backend.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "app.messages.write-behind")
+public class MessageWriteBehindProperties {
+    // Acknowledge message saves once journaled and insert them in batches
+    private boolean enabled = false;
+
+    // Rows per JDBC batch, and the queue length that triggers an early flush
+    private int batchSize = 100;
+
+    // Longest a journaled message waits before it is inserted
+    private Duration flushInterval = Duration.ofMillis(200);
+
+    // Queue length at which savers flush on their own thread instead of queueing more
+    private int maxPending = 10_000;
+
+    // Where not-yet-inserted messages are journaled; replayed on startup
+    private String journalDirectory = "data/message-journal";
+
+    // Getters and setters
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public Duration getFlushInterval() {
+        return flushInterval;
+    }
+
+    public void setFlushInterval(Duration flushInterval) {
+        this.flushInterval = flushInterval;
+    }
+
+    public int getMaxPending() {
+        return maxPending;
+    }
+
+    public void setMaxPending(int maxPending) {
+        this.maxPending = maxPending;
+    }
+
+    public String getJournalDirectory() {
+        return journalDirectory;
+    }
+
+    public void setJournalDirectory(String journalDirectory) {
+        this.journalDirectory = journalDirectory;
+    }
+}
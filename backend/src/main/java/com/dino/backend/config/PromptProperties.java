@@ -0,0 +1,37 @@
+package com.dino.backend.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "app.prompts")
+public class PromptProperties {
+    private String location = "classpath:prompts/";
+    private boolean hotReload = false;
+    private String watchDirectory = "src/main/resources/prompts";
+
+    // Getters and setters
+    public String getLocation() {
+        return location;
+    }
+
+    public void setLocation(String location) {
+        this.location = location;
+    }
+
+    public boolean isHotReload() {
+        return hotReload;
+    }
+
+    public void setHotReload(boolean hotReload) {
+        this.hotReload = hotReload;
+    }
+
+    public String getWatchDirectory() {
+        return watchDirectory;
+    }
+
+    public void setWatchDirectory(String watchDirectory) {
+        this.watchDirectory = watchDirectory;
+    }
+}
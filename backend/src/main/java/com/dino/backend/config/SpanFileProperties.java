@@ -0,0 +1,29 @@
+package com.dino.backend.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "app.tracing.file")
+public class SpanFileProperties {
+    // Write finished spans as JSON lines, for offline latency breakdowns without a collector
+    private boolean enabled = false;
+    private String path = "logs/spans.jsonl";
+
+    // Getters and setters
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public void setPath(String path) {
+        this.path = path;
+    }
+}
@@ -0,0 +1,43 @@
+package com.dino.backend.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "app.vocabulary.batch")
+public class VocabularyBatchProperties {
+    private boolean enabled = true;
+
+    // Most users combined into one Gemini request
+    private int maxBatchSize = 8;
+
+    // How long the first request of a batch waits for others to join
+    private Duration linger = Duration.ofMillis(50);
+
+    // Getters and setters
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getMaxBatchSize() {
+        return maxBatchSize;
+    }
+
+    public void setMaxBatchSize(int maxBatchSize) {
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    public Duration getLinger() {
+        return linger;
+    }
+
+    public void setLinger(Duration linger) {
+        this.linger = linger;
+    }
+}
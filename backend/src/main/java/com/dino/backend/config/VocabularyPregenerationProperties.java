@@ -0,0 +1,87 @@
+package com.dino.backend.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "app.vocabulary.pregeneration")
+public class VocabularyPregenerationProperties {
+    private boolean enabled = true;
+
+    // Spring cron expression, server time zone
+    private String cron = "0 0 3 * * *";
+
+    // Users who logged in or started a session within this window are pre-generated
+    private Duration activeWithin = Duration.ofDays(7);
+
+    // Users per checkpoint
+    private int pageSize = 100;
+
+    // Concurrent generations, and the overall Gemini request rate they share;
+    // parallelism at or above app.vocabulary.batch.max-batch-size lets batches fill
+    private int parallelism = 8;
+    private double requestsPerSecond = 2.0;
+
+    // How long a run holds the day's lease; renewed after every page, and
+    // another instance may take the run over once it lapses
+    private Duration leaseDuration = Duration.ofMinutes(10);
+
+    // Getters and setters
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public String getCron() {
+        return cron;
+    }
+
+    public void setCron(String cron) {
+        this.cron = cron;
+    }
+
+    public Duration getActiveWithin() {
+        return activeWithin;
+    }
+
+    public void setActiveWithin(Duration activeWithin) {
+        this.activeWithin = activeWithin;
+    }
+
+    public int getPageSize() {
+        return pageSize;
+    }
+
+    public void setPageSize(int pageSize) {
+        this.pageSize = pageSize;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public void setParallelism(int parallelism) {
+        this.parallelism = parallelism;
+    }
+
+    public double getRequestsPerSecond() {
+        return requestsPerSecond;
+    }
+
+    public void setRequestsPerSecond(double requestsPerSecond) {
+        this.requestsPerSecond = requestsPerSecond;
+    }
+
+    public Duration getLeaseDuration() {
+        return leaseDuration;
+    }
+
+    public void setLeaseDuration(Duration leaseDuration) {
+        this.leaseDuration = leaseDuration;
+    }
+}
@@ -5,7 +5,9 @@ import com.dino.backend.dto.LoginResponse;
 import com.dino.backend.dto.SignupRequest;
 import com.dino.backend.model.User;
 import com.dino.backend.repository.UserRepository;
+import com.dino.backend.security.AuthenticatedUser;
 import com.dino.backend.security.JwtUtil;
+import com.dino.backend.service.UserCache;
 
 import java.time.LocalDateTime;
 import java.util.HashMap;
@@ -41,6 +43,9 @@ public class AuthController {
     @Autowired
     private JwtUtil jwtUtil;
 
+    @Autowired
+    private UserCache userCache;
+
     public AuthController() {
         logger.info("AuthController initialized");
     }
@@ -65,7 +70,7 @@ public class AuthController {
             user.setCreatedAt(LocalDateTime.now());
             user = userRepository.save(user);
 
-            String jwt = jwtUtil.generateToken(user.getUsername());
+            String jwt = jwtUtil.generateToken(user.getUsername(), user.getUserId());
 
             Map<String, Object> response = new HashMap<>();
             response.put("token", jwt);
@@ -87,26 +92,22 @@ public class AuthController {
 
     @PostMapping("/login")
     public ResponseEntity<?> login(@RequestBody LoginRequest request) {
-        logger.info("Received login request for email: {}", request.getEmail());
+        logger.debug("Received login request for email: {}", request.getEmail());
         try {
-            logger.debug("Authenticating user: {}", request.getEmail());
             Authentication authentication = authenticationManager.authenticate(
                 new UsernamePasswordAuthenticationToken(request.getEmail(), request.getPassword()));
-            logger.debug("Authentication successful for: {}", request.getEmail());
 
-            logger.debug("Fetching user from repository: {}", request.getEmail());
             User user = userRepository.findByEmail(request.getEmail())
                 .orElseThrow(() -> {
                     logger.error("User not found: {}", request.getEmail());
                     return new RuntimeException("User not found");
                 });
 
-            logger.debug("Updating last login for user: {}", request.getEmail());
             user.setLastLogin(LocalDateTime.now());
             userRepository.save(user);
+            userCache.invalidate(user.getUserId());
 
-            logger.debug("Generating JWT for user: {}", user.getUsername());
-            String jwt = jwtUtil.generateToken(user.getUsername());
+            String jwt = jwtUtil.generateToken(user.getUsername(), user.getUserId());
 
             LoginResponse response = new LoginResponse();
             response.setToken(jwt);
@@ -144,8 +145,7 @@ public class AuthController {
                     .body(Map.of("message", "Unauthorized"));
         }
 
-        String username = authentication.getName();
-        User user = userRepository.findByUsername(username)
+        User user = userCache.get(AuthenticatedUser.currentUserId(authentication))
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
         Map<String, Object> response = new HashMap<>();
@@ -167,8 +167,9 @@ public class AuthController {
                     .body(Map.of("message", "Unauthorized"));
         }
 
+        // Load a fresh copy to modify; cached users are shared and read-only
         String username = authentication.getName();
-        User user = userRepository.findByUsername(username)
+        User user = userRepository.findById(AuthenticatedUser.currentUserId(authentication))
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
         logger.info("🔧 Updating user '{}' with updates: {}", username, updates);
@@ -192,6 +193,7 @@ public class AuthController {
             }
 
             userRepository.save(user);
+            userCache.invalidate(user.getUserId());
             logger.info("✅ User saved: {}", user);
         } catch (Exception e) {
             logger.error("❌ Failed to update user profile", e);
@@ -219,11 +221,12 @@ public class AuthController {
         }
 
         String username = authentication.getName();
-        User user = userRepository.findByUsername(username)
+        User user = userRepository.findById(AuthenticatedUser.currentUserId(authentication))
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
         try {
             userRepository.delete(user);
+            userCache.invalidate(user.getUserId());
             logger.info("🗑️ User account deleted: {}", username);
             return ResponseEntity.ok(Map.of("message", "Account deleted successfully"));
         } catch (Exception e) {
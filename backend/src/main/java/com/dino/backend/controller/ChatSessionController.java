@@ -1,9 +1,13 @@
 package com.dino.backend.controller;
 
+import com.dino.backend.dto.ChatTurnRequest;
+import com.dino.backend.dto.ChatTurnResponse;
+import com.dino.backend.dto.SessionPage;
+import com.dino.backend.integration.gemini.GeminiCallGate;
 import com.dino.backend.model.ChatSession;
-import com.dino.backend.model.User;
-import com.dino.backend.repository.UserRepository;
+import com.dino.backend.security.AuthenticatedUser;
 import com.dino.backend.service.ChatSessionService;
+import com.dino.backend.service.ChatTurnService;
 
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -14,7 +18,7 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 import org.slf4j.Logger;
-import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/api/sessions")
@@ -24,53 +28,44 @@ public class ChatSessionController {
     private ChatSessionService chatSessionService;
 
     @Autowired
-    private UserRepository userRepository;
+    private ChatTurnService chatTurnService;
 
-    private static final Logger logger = LoggerFactory.getLogger(ChatSessionController.class);
-
-
-@GetMapping("/user/{userId}")
-public ResponseEntity<List<ChatSession>> getSessionsByUser(@PathVariable Long userId) {
-    // Get the authenticated user's details
-    Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-
-    if (authentication == null || !authentication.isAuthenticated() || authentication instanceof AnonymousAuthenticationToken) { // More robust check
-        logger.warn("Unauthorized attempt to access sessions for path userId: {}", userId);
-        return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(null); // Return 401 if not authenticated
-    }
+    @Autowired
+    private GeminiCallGate geminiCallGate;
 
-    // Find the user by username from the authentication object
-    String username = authentication.getName();
-    logger.info("Fetching sessions for path userId: {}. Authenticated principal: {}", userId, username); // First log
+    private static final Logger logger = LoggerFactory.getLogger(ChatSessionController.class);
 
-    User user = userRepository.findByUsername(username)
-            .orElseThrow(() -> {
-                 logger.error("Authenticated user '{}' not found in repository!", username); // Log if user lookup fails
-                 return new RuntimeException("Authenticated user not found");
-            });
+    private static final int MAX_PAGE_SIZE = 100;
+
+    /**
+     * Lists the user's sessions for the sidebar, newest first. Only summaries
+     * are returned; the messages of a session come from GET /{sessionId}.
+     */
+    @GetMapping("/user/{userId}")
+    public ResponseEntity<SessionPage> getSessionsByUser(@PathVariable Long userId,
+                                                         @RequestParam(required = false) Long before,
+                                                         @RequestParam(defaultValue = "20") int limit) {
+        // Get the authenticated user's details
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
 
-    logger.info("Comparing Path userId ({}) with Token's userId ({}) for user '{}'", userId, user.getUserId(), username); // Second log
+        if (authentication == null || !authentication.isAuthenticated() || authentication instanceof AnonymousAuthenticationToken) { // More robust check
+            logger.warn("Unauthorized attempt to access sessions for path userId: {}", userId);
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(null); // Return 401 if not authenticated
+        }
 
-    // Check if the requested userId matches the authenticated user's ID
-    if (!user.getUserId().equals(userId)) {
-        logger.warn("Forbidden: Authenticated userId ({}) does not match requested path userId ({}).", user.getUserId(), userId); // Third log
-        return ResponseEntity.status(HttpStatus.FORBIDDEN).body(null); // Forbidden
-    }
+        // The user ID comes from the token; no repository lookup needed
+        Long currentUserId = AuthenticatedUser.currentUserId(authentication);
 
-    // Proceed to fetch sessions
-    logger.info("Authorized: Fetching sessions for userId: {}", userId); // Log success
-    List<ChatSession> sessions = chatSessionService.getSessionsByUserId(userId);
+        // Check if the requested userId matches the authenticated user's ID
+        if (!userId.equals(currentUserId)) {
+            logger.warn("Forbidden: Authenticated userId ({}) does not match requested path userId ({}).", currentUserId, userId);
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(null); // Forbidden
+        }
 
-    
-    if (sessions == null) {
-         logger.warn("No sessions found for userId: {}", userId);
-         // return ResponseEntity.ok(Collections.emptyList());
-         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(null);
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        return ResponseEntity.ok(chatSessionService.getSessionSummaries(userId, before, pageSize));
     }
 
-    return ResponseEntity.ok(sessions);
-}
-
     @PostMapping("/start")
     public ResponseEntity<ChatSession> startSession(@RequestParam Long userId,
                                                    @RequestParam String languageUsed,
@@ -79,10 +74,8 @@ public ResponseEntity<List<ChatSession>> getSessionsByUser(@PathVariable Long us
         if (authentication == null || !authentication.isAuthenticated()) {
             return ResponseEntity.status(401).body(null); // Unauthorized
         }
-        String username = authentication.getName();
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new RuntimeException("Authenticated user not found"));
-        if (!user.getUserId().equals(userId)) {
+        Long currentUserId = AuthenticatedUser.currentUserId(authentication);
+        if (!userId.equals(currentUserId)) {
             return ResponseEntity.status(403).body(null); // Forbidden
         }
         return ResponseEntity.ok(chatSessionService.startSession(userId, languageUsed, sessionTopic));
@@ -94,14 +87,12 @@ public ResponseEntity<List<ChatSession>> getSessionsByUser(@PathVariable Long us
         if (authentication == null || !authentication.isAuthenticated()) {
             return ResponseEntity.status(401).body(null); // Unauthorized
         }
-        String username = authentication.getName();
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new RuntimeException("Authenticated user not found"));
+        Long currentUserId = AuthenticatedUser.currentUserId(authentication);
         ChatSession session = chatSessionService.getSessionById(sessionId);
         if (session == null) {
             return ResponseEntity.status(404).body(null); // Not Found
         }
-        if (!session.getUser().getUserId().equals(user.getUserId())) {
+        if (!session.getUser().getUserId().equals(currentUserId)) {
             return ResponseEntity.status(403).body(null); // Forbidden
         }
         return ResponseEntity.ok(chatSessionService.endSession(sessionId));
@@ -113,14 +104,12 @@ public ResponseEntity<List<ChatSession>> getSessionsByUser(@PathVariable Long us
         if (authentication == null || !authentication.isAuthenticated()) {
             return ResponseEntity.status(401).body(null); // Unauthorized
         }
-        String username = authentication.getName();
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new RuntimeException("Authenticated user not found"));
+        Long currentUserId = AuthenticatedUser.currentUserId(authentication);
         ChatSession session = chatSessionService.getSessionById(sessionId);
         if (session == null) {
             return ResponseEntity.status(404).body(null); // Not Found
         }
-        if (!session.getUser().getUserId().equals(user.getUserId())) {
+        if (!session.getUser().getUserId().equals(currentUserId)) {
             return ResponseEntity.status(403).body(null); // Forbidden
         }
         return ResponseEntity.ok(chatSessionService.updateFeedback(sessionId, feedback));
@@ -132,33 +121,51 @@ public ResponseEntity<List<ChatSession>> getSessionsByUser(@PathVariable Long us
         if (authentication == null || !authentication.isAuthenticated()) {
             return ResponseEntity.status(401).body(null); // Unauthorized
         }
-        String username = authentication.getName();
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new RuntimeException("Authenticated user not found"));
+        Long currentUserId = AuthenticatedUser.currentUserId(authentication);
         ChatSession session = chatSessionService.getSessionById(sessionId);
         if (session == null) {
             return ResponseEntity.status(404).body(null); // Not Found
         }
-        if (!session.getUser().getUserId().equals(user.getUserId())) {
+        if (!session.getUser().getUserId().equals(currentUserId)) {
             return ResponseEntity.status(403).body(null); // Forbidden
         }
         return ResponseEntity.ok(session);
     }
 
+    @PostMapping("/{sessionId}/turn")
+    public CompletableFuture<ResponseEntity<ChatTurnResponse>> takeTurn(@PathVariable Long sessionId,
+                                                                        @RequestBody ChatTurnRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()) {
+            return CompletableFuture.completedFuture(ResponseEntity.status(401).build()); // Unauthorized
+        }
+        if (request.getMessage() == null || request.getMessage().isBlank()) {
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest().build());
+        }
+        Long currentUserId = AuthenticatedUser.currentUserId(authentication);
+        ChatSession session = chatSessionService.getSessionById(sessionId);
+        if (session == null) {
+            return CompletableFuture.completedFuture(ResponseEntity.status(404).build()); // Not Found
+        }
+        if (!session.getUser().getUserId().equals(currentUserId)) {
+            return CompletableFuture.completedFuture(ResponseEntity.status(403).build()); // Forbidden
+        }
+        return geminiCallGate.submit(() -> chatTurnService.takeTurn(session, request))
+                .thenApply(ResponseEntity::ok);
+    }
+
     @DeleteMapping("/{sessionId}")
     public ResponseEntity<Void> deleteSession(@PathVariable Long sessionId) {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         if (authentication == null || !authentication.isAuthenticated()) {
             return ResponseEntity.status(401).build(); // Unauthorized
         }
-        String username = authentication.getName();
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new RuntimeException("Authenticated user not found"));
+        Long currentUserId = AuthenticatedUser.currentUserId(authentication);
         ChatSession session = chatSessionService.getSessionById(sessionId);
         if (session == null) {
             return ResponseEntity.status(404).build(); // Not Found
         }
-        if (!session.getUser().getUserId().equals(user.getUserId())) {
+        if (!session.getUser().getUserId().equals(currentUserId)) {
             return ResponseEntity.status(403).build(); // Forbidden
         }
         chatSessionService.deleteSession(sessionId);
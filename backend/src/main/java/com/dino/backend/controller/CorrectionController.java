@@ -0,0 +1,74 @@
+package com.dino.backend.controller;
+
+import com.dino.backend.dto.CategoryCount;
+import com.dino.backend.model.Correction;
+import com.dino.backend.model.ErrorCategory;
+import com.dino.backend.security.AuthenticatedUser;
+import com.dino.backend.service.CorrectionService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Progress views over the user's stored grammar corrections.
+ */
+@RestController
+@RequestMapping("/api/corrections")
+public class CorrectionController {
+
+    private static final Logger logger = LoggerFactory.getLogger(CorrectionController.class);
+
+    private static final int MAX_LIMIT = 100;
+
+    @Autowired
+    private CorrectionService correctionService;
+
+    /**
+     * How often the user has been corrected on each kind of error, most frequent first.
+     */
+    @GetMapping("/user/{userId}/categories")
+    public ResponseEntity<List<CategoryCount>> getCategoryCounts(@PathVariable Long userId) {
+        ResponseEntity<List<CategoryCount>> denied = checkAccess(userId);
+        if (denied != null) {
+            return denied;
+        }
+        return ResponseEntity.ok(correctionService.getCategoryCounts(userId));
+    }
+
+    /**
+     * The user's most recent corrections, optionally only those in one category.
+     */
+    @GetMapping("/user/{userId}")
+    public ResponseEntity<List<Correction>> getRecentCorrections(@PathVariable Long userId,
+                                                                 @RequestParam(required = false) ErrorCategory category,
+                                                                 @RequestParam(defaultValue = "20") int limit) {
+        ResponseEntity<List<Correction>> denied = checkAccess(userId);
+        if (denied != null) {
+            return denied;
+        }
+        int pageSize = Math.max(1, Math.min(limit, MAX_LIMIT));
+        return ResponseEntity.ok(correctionService.getRecentCorrections(userId, category, pageSize));
+    }
+
+    // 401 or 403 unless the authenticated user is the one requested; null when access is allowed
+    private <T> ResponseEntity<T> checkAccess(Long userId) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()) {
+            logger.warn("Unauthenticated request for corrections of userId {}", userId);
+            return ResponseEntity.status(401).build(); // Unauthorized
+        }
+
+        Long currentUserId = AuthenticatedUser.currentUserId(authentication);
+        if (!userId.equals(currentUserId)) {
+            logger.warn("Access denied: authenticated userId={} does not match requested userId={}", currentUserId, userId);
+            return ResponseEntity.status(403).build(); // Forbidden
+        }
+        return null;
+    }
+}
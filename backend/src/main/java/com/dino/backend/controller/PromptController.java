@@ -1,25 +1,150 @@
 package com.dino.backend.controller;
 
+import com.dino.backend.dto.ChatReply;
 import com.dino.backend.dto.PromptRequest;
+import com.dino.backend.integration.gemini.GeminiCallGate;
+import com.dino.backend.exception.GeminiCapacityExceededException;
+import com.dino.backend.model.ChatSession;
+import com.dino.backend.security.AuthenticatedUser;
+import com.dino.backend.service.ChatSessionService;
 import com.dino.backend.service.GeminiService;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 @RestController
 @RequestMapping("/api/prompts")
 public class PromptController {
 
+    private static final Logger logger = LoggerFactory.getLogger(PromptController.class);
+
+    // Upper bound for a single streamed reply, including slow upstream generations
+    private static final long STREAM_TIMEOUT_MS = 120_000L;
+
     @Autowired
     private GeminiService geminiService;
 
+    @Autowired
+    private GeminiCallGate geminiCallGate;
+
+    @Autowired
+    private ChatSessionService chatSessionService;
+
     @PostMapping("/generate")
-    public ResponseEntity<?> generatePrompt(@RequestBody PromptRequest request) {
+    public CompletableFuture<ResponseEntity<?>> generatePrompt(@RequestBody PromptRequest request) {
+        ResponseEntity<?> denied = authorize(request);
+        if (denied != null) {
+            return CompletableFuture.completedFuture(denied);
+        }
+        return geminiCallGate.submit(() -> geminiService.getGeminiResponse(request))
+                .thenApply(ResponseEntity::ok);
+    }
+
+    /**
+     * Streams the reply as Server-Sent Events: a "conversation" event for each new
+     * piece of text, then a single "feedback" event carrying the full parsed reply.
+     * An "error" event is sent instead if generation fails.
+     */
+    @PostMapping(value = "/generate/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamPrompt(@RequestBody PromptRequest request) {
+        ResponseEntity<?> denied = authorize(request);
+        if (denied != null) {
+            return ResponseEntity.status(denied.getStatusCode()).build();
+        }
+        SseEmitter emitter = new SseEmitter(STREAM_TIMEOUT_MS);
         try {
-            String aiReply = geminiService.getGeminiResponse(request);
-            return ResponseEntity.ok(aiReply);
+            geminiCallGate.execute(() -> streamReply(request, emitter));
+        } catch (GeminiCapacityExceededException e) {
+            // Answer in the stream's own format so EventSource clients can read it, with the status set up front
+            logger.warn("Rejecting stream: {}", e.getMessage());
+            try {
+                emitter.send(SseEmitter.event().name("error")
+                        .data(Map.of("message", "DinoAI is busy right now. Please try again in a moment."),
+                                MediaType.APPLICATION_JSON));
+            } catch (IOException sendFailure) {
+                // Nothing is written before the handler returns; the status still tells the client
+            }
+            emitter.complete();
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .body(emitter);
+        }
+        return ResponseEntity.ok(emitter);
+    }
+
+    private void streamReply(PromptRequest request, SseEmitter emitter) {
+        try {
+            ChatReply reply = geminiService.streamGeminiResponse(request,
+                    delta -> sendEvent(emitter, "conversation", Map.of("text", delta)));
+            sendEvent(emitter, "feedback", reply);
+            emitter.complete();
         } catch (Exception e) {
-            return ResponseEntity.status(500).body("Error generating response: " + e.getMessage());
+            logger.error("Streaming generation failed for session {}", request.getSessionId(), e);
+            try {
+                emitter.send(SseEmitter.event().name("error")
+                        .data(Map.of("message", "Error generating response: " + e.getMessage()),
+                                MediaType.APPLICATION_JSON));
+                emitter.complete();
+            } catch (IOException | IllegalStateException sendFailure) {
+                // Client already went away; nothing left to tell it
+                emitter.completeWithError(e);
+            }
+        }
+    }
+
+    /**
+     * Binds the request to the authenticated user: the body's userId must be
+     * theirs (or absent) and so must the session. On success the request's
+     * userId is replaced with the authenticated one.
+     *
+     * @return the 401/403/404 response to send, or null if the request may proceed
+     */
+    private ResponseEntity<?> authorize(PromptRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        Long currentUserId = AuthenticatedUser.currentUserId(authentication);
+        if (authentication == null || !authentication.isAuthenticated() || currentUserId == null) {
+            return ResponseEntity.status(401).build(); // Unauthorized
+        }
+        if (request.getUserId() != null && !request.getUserId().equals(currentUserId)) {
+            logger.warn("Forbidden: authenticated userId={} sent prompt for userId={}", currentUserId, request.getUserId());
+            return ResponseEntity.status(403).build(); // Forbidden
+        }
+        if (request.getSessionId() != null) {
+            ChatSession session = chatSessionService.getSessionById(request.getSessionId());
+            if (session == null) {
+                // Server-side history needs the session; client-side history can do without it
+                if (request.getMessages() == null) {
+                    return ResponseEntity.status(404).build(); // Not Found
+                }
+            } else if (!session.getUser().getUserId().equals(currentUserId)) {
+                logger.warn("Forbidden: authenticated userId={} sent prompt for session {}", currentUserId, request.getSessionId());
+                return ResponseEntity.status(403).build(); // Forbidden
+            }
+        }
+        request.setUserId(currentUserId);
+        return null;
+    }
+
+    private void sendEvent(SseEmitter emitter, String name, Object data) {
+        try {
+            emitter.send(SseEmitter.event().name(name).data(data, MediaType.APPLICATION_JSON));
+        } catch (IOException e) {
+            // Abort the upstream read when the browser disconnects
+            throw new UncheckedIOException(e);
         }
     }
 }
@@ -1,8 +1,7 @@
 package com.dino.backend.controller;
 
-import com.dino.backend.model.User;
 import com.dino.backend.model.VocabularySet;
-import com.dino.backend.repository.UserRepository;
+import com.dino.backend.security.AuthenticatedUser;
 import com.dino.backend.service.VocabularyService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -12,6 +11,9 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
 @RestController
 @RequestMapping("/api/vocabulary")
 public class VocabularyController {
@@ -21,33 +23,50 @@ public class VocabularyController {
     @Autowired
     private VocabularyService vocabularyService;
 
-    @Autowired
-    private UserRepository userRepository;
-
     @GetMapping("/daily/{userId}")
-    public ResponseEntity<VocabularySet> getDailyVocabulary(@PathVariable Long userId) {
+    public CompletableFuture<ResponseEntity<VocabularySet>> getDailyVocabulary(@PathVariable Long userId) {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         if (authentication == null || !authentication.isAuthenticated()) {
             logger.warn("Unauthenticated request to /api/vocabulary/daily/{}", userId);
-            return ResponseEntity.status(401).build(); // Unauthorized
+            return CompletableFuture.completedFuture(ResponseEntity.status(401).build()); // Unauthorized
+        }
+
+        Long currentUserId = AuthenticatedUser.currentUserId(authentication);
+        logger.debug("Authenticated username: {} ({}), requested userId: {}", authentication.getName(), currentUserId, userId);
+
+        if (!userId.equals(currentUserId)) {
+            logger.warn("Access denied: authenticated userId={} does not match requested userId={}", currentUserId, userId);
+            return CompletableFuture.completedFuture(ResponseEntity.status(403).build()); // Forbidden
         }
 
-        String username = authentication.getName();
-        logger.debug("Authenticated username: {}, requested userId: {}", username, userId);
+        // Already generated today: answer without taking a Gemini permit
+        Optional<VocabularySet> today = vocabularyService.findDailyVocab(userId);
+        if (today.isPresent()) {
+            return CompletableFuture.completedFuture(ResponseEntity.ok(today.get()));
+        }
+
+        return vocabularyService.getDailyVocab(userId, "English")
+                .thenApply(ResponseEntity::ok);
+    }
 
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> {
-                    logger.error("User not found for username: {}", username);
-                    return new RuntimeException("Authenticated user not found");
-                });
+    /**
+     * Discards today's vocabulary set and generates a new one.
+     */
+    @PostMapping("/daily/{userId}/regenerate")
+    public CompletableFuture<ResponseEntity<VocabularySet>> regenerateDailyVocabulary(@PathVariable Long userId) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()) {
+            logger.warn("Unauthenticated request to /api/vocabulary/daily/{}/regenerate", userId);
+            return CompletableFuture.completedFuture(ResponseEntity.status(401).build()); // Unauthorized
+        }
 
-        logger.debug("Found user: userId={}, username={}", user.getUserId(), user.getUsername());
-        if (!user.getUserId().equals(userId)) {
-            logger.warn("Access denied: authenticated userId={} does not match requested userId={}", user.getUserId(), userId);
-            return ResponseEntity.status(403).build(); // Forbidden
+        Long currentUserId = AuthenticatedUser.currentUserId(authentication);
+        if (!userId.equals(currentUserId)) {
+            logger.warn("Access denied: authenticated userId={} does not match requested userId={}", currentUserId, userId);
+            return CompletableFuture.completedFuture(ResponseEntity.status(403).build()); // Forbidden
         }
 
-        VocabularySet vocabularySet = vocabularyService.getDailyVocab(userId, "English");
-        return ResponseEntity.ok(vocabularySet);
+        return vocabularyService.regenerateDailyVocab(userId, "English")
+                .thenApply(ResponseEntity::ok);
     }
 }
@@ -0,0 +1,18 @@
+package com.dino.backend.dto;
+
+import com.dino.backend.model.ErrorCategory;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * How often a user has been corrected on one kind of error.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CategoryCount {
+    private ErrorCategory category;
+    private long count;
+}
@@ -0,0 +1,17 @@
+package com.dino.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Dino's reply to a single user turn, split into the conversational text and
+ * the grammar feedback block.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChatReply {
+    private String conversation;
+    private String feedback;
+}
@@ -0,0 +1,14 @@
+package com.dino.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChatTurnRequest {
+    private String message;
+    // Optional; defaults to the session's language
+    private String languageUsed;
+}
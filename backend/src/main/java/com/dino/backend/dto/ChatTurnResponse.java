@@ -0,0 +1,23 @@
+package com.dino.backend.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import com.dino.backend.model.Correction;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChatTurnResponse {
+    private Long sessionId;
+    private Long userMessageId;
+    private Long botMessageId;
+    private String conversation;
+    private String feedback;
+    private List<Correction> corrections;
+    private LocalDateTime timestamp;
+}
@@ -0,0 +1,15 @@
+package com.dino.backend.dto;
+
+/**
+ * One message of a conversation as it is fed back into the prompt.
+ *
+ * @param messageId  the persisted message ID, or null for a message not yet saved
+ * @param senderType "user" or "bot"
+ * @param content    the message text
+ */
+public record ConversationTurn(Long messageId, String senderType, String content) {
+
+    public boolean isUser() {
+        return "USER".equalsIgnoreCase(senderType);
+    }
+}
@@ -20,6 +20,9 @@ public class PromptRequest {
 
     private List<Message> messages;
 
+    // Server-side history mode: set instead of messages, the server loads the rest by sessionId
+    private String message;
+
     @Data
     @NoArgsConstructor
     @AllArgsConstructor
@@ -0,0 +1,19 @@
+package com.dino.backend.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A page of a user's sessions, newest first. Pass nextCursor as the "before"
+ * parameter to fetch the following page; it is null on the last page.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SessionPage {
+    private List<SessionSummary> items;
+    private Long nextCursor;
+}
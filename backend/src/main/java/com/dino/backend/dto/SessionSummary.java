@@ -0,0 +1,24 @@
+package com.dino.backend.dto;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One row of the session list: enough to render the sidebar without loading
+ * the session's messages.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SessionSummary {
+    private Long sessionId;
+    private String sessionTopic;
+    private String languageUsed;
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+    private long messageCount;
+    private String lastMessagePreview;
+}
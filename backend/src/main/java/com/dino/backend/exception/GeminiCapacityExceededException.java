@@ -0,0 +1,11 @@
+package com.dino.backend.exception;
+
+/**
+ * Exception thrown when the number of in-flight Gemini calls has reached the configured limit
+ */
+public class GeminiCapacityExceededException extends RuntimeException {
+
+    public GeminiCapacityExceededException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,21 @@
+package com.dino.backend.exception;
+
+import java.time.Duration;
+
+/**
+ * Exception thrown when calls to a Gemini endpoint are being rejected because
+ * its circuit breaker is open
+ */
+public class GeminiUnavailableException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    public GeminiUnavailableException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
@@ -0,0 +1,45 @@
+package com.dino.backend.exception;
+
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.client.RestClientException;
+
+/**
+ * Maps exceptions that escape the controllers to HTTP responses
+ */
+@RestControllerAdvice
+public class GlobalExceptionHandler {
+
+    private static final Logger logger = LoggerFactory.getLogger(GlobalExceptionHandler.class);
+
+    @ExceptionHandler(GeminiCapacityExceededException.class)
+    public ResponseEntity<Map<String, String>> handleGeminiCapacityExceeded(GeminiCapacityExceededException e) {
+        logger.warn("Rejecting request: {}", e.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(Map.of("message", "DinoAI is busy right now. Please try again in a moment."));
+    }
+
+    @ExceptionHandler(GeminiUnavailableException.class)
+    public ResponseEntity<Map<String, String>> handleGeminiUnavailable(GeminiUnavailableException e) {
+        logger.warn("Rejecting request: {}", e.getMessage());
+        long retryAfterSeconds = Math.max(1, (e.getRetryAfter().toMillis() + 999) / 1000);
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+                .body(Map.of("message", "DinoAI is temporarily unavailable. Please try again shortly."));
+    }
+
+    @ExceptionHandler(RestClientException.class)
+    public ResponseEntity<Map<String, String>> handleUpstreamFailure(RestClientException e) {
+        logger.error("Gemini request failed", e);
+        return ResponseEntity.status(HttpStatus.BAD_GATEWAY)
+                .body(Map.of("message", "Error talking to DinoAI. Please try again."));
+    }
+}
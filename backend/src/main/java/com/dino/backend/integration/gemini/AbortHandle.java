@@ -0,0 +1,59 @@
+package com.dino.backend.integration.gemini;
+
+import java.util.function.Supplier;
+
+import org.apache.hc.core5.concurrent.Cancellable;
+import org.apache.hc.core5.http.ClassicHttpRequest;
+
+/**
+ * Lets one thread abort the Gemini HTTP request another thread is blocked on,
+ * e.g. the losing side of a hedged pair. The call runs with the handle bound
+ * to its thread, and the request factory (see GeminiHttpClientConfig) hands
+ * each request it creates to the bound handle. Aborting closes the request's
+ * connection, so the blocked thread fails fast instead of reading a response
+ * nobody wants.
+ */
+final class AbortHandle {
+
+    private static final ThreadLocal<AbortHandle> CURRENT = new ThreadLocal<>();
+
+    private volatile Cancellable request;
+    private volatile boolean aborted;
+
+    /**
+     * Runs the call with this handle bound to the current thread.
+     */
+    <T> T run(Supplier<T> call) {
+        CURRENT.set(this);
+        try {
+            return call.get();
+        } finally {
+            CURRENT.remove();
+        }
+    }
+
+    /**
+     * Aborts the request the call is running, or the one it starts next.
+     */
+    void abort() {
+        aborted = true;
+        Cancellable current = request;
+        if (current != null) {
+            current.cancel();
+        }
+    }
+
+    /**
+     * Called by the request factory for every request it creates.
+     */
+    static void register(ClassicHttpRequest request) {
+        AbortHandle handle = CURRENT.get();
+        if (handle != null && request instanceof Cancellable cancellable) {
+            handle.request = cancellable;
+            // abort() may have run before the request existed
+            if (handle.aborted) {
+                cancellable.cancel();
+            }
+        }
+    }
+}
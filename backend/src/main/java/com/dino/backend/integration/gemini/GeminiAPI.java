@@ -1,5 +1,7 @@
 package com.dino.backend.integration.gemini;
 
+import java.util.function.Consumer;
+
 /**
  * Interface for Gemini 2.0 Flash API interactions.
  */
@@ -12,6 +14,25 @@ public interface GeminiAPI {
      */
     String getResponse(String input);
 
+    /**
+     * Like getResponse, but returns only the generated text, extracted from
+     * the response body once.
+     *
+     * @param input The input string to process.
+     * @return The text generated by the API.
+     */
+    String getResponseText(String input);
+
+    /**
+     * Generates a response through the streaming endpoint, handing each text
+     * fragment to the consumer as soon as Gemini emits it.
+     *
+     * @param input   The input string to process.
+     * @param onChunk Receives the generated text fragments in order.
+     * @return The full text generated by the API.
+     */
+    String streamResponse(String input, Consumer<String> onChunk);
+
     /**
      * Provides grammar feedback for the given input.
      *
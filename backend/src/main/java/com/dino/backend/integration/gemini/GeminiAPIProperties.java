@@ -1,5 +1,7 @@
 package com.dino.backend.integration.gemini;
 
+import java.time.Duration;
+
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
 
@@ -9,6 +11,22 @@ public class GeminiAPIProperties {
     private String url;
     private String key;
 
+    // Optional; derived from url by swapping in :streamGenerateContent when blank
+    private String streamUrl;
+
+    // HTTP client pool and deadlines
+    private Duration connectTimeout = Duration.ofSeconds(5);
+    private Duration responseTimeout = Duration.ofSeconds(60);
+    private Duration connectionRequestTimeout = Duration.ofSeconds(2);
+    private int maxConnections = 200;
+    private int maxConnectionsPerRoute = 200;
+    private Duration idleEvictionTimeout = Duration.ofSeconds(30);
+    private Duration connectionTimeToLive = Duration.ofMinutes(5);
+
+    // Concurrency gate for upstream calls; keep at or below maxConnectionsPerRoute
+    private int maxConcurrentCalls = 200;
+    private Duration acquireTimeout = Duration.ZERO;
+
     public String getUrl() {
         return url;
     }
@@ -21,4 +39,64 @@ public class GeminiAPIProperties {
     public void setKey(String key) {
         this.key = key;
     }
+    public String getStreamUrl() {
+        return streamUrl;
+    }
+    public void setStreamUrl(String streamUrl) {
+        this.streamUrl = streamUrl;
+    }
+    public Duration getConnectTimeout() {
+        return connectTimeout;
+    }
+    public void setConnectTimeout(Duration connectTimeout) {
+        this.connectTimeout = connectTimeout;
+    }
+    public Duration getResponseTimeout() {
+        return responseTimeout;
+    }
+    public void setResponseTimeout(Duration responseTimeout) {
+        this.responseTimeout = responseTimeout;
+    }
+    public Duration getConnectionRequestTimeout() {
+        return connectionRequestTimeout;
+    }
+    public void setConnectionRequestTimeout(Duration connectionRequestTimeout) {
+        this.connectionRequestTimeout = connectionRequestTimeout;
+    }
+    public int getMaxConnections() {
+        return maxConnections;
+    }
+    public void setMaxConnections(int maxConnections) {
+        this.maxConnections = maxConnections;
+    }
+    public int getMaxConnectionsPerRoute() {
+        return maxConnectionsPerRoute;
+    }
+    public void setMaxConnectionsPerRoute(int maxConnectionsPerRoute) {
+        this.maxConnectionsPerRoute = maxConnectionsPerRoute;
+    }
+    public Duration getIdleEvictionTimeout() {
+        return idleEvictionTimeout;
+    }
+    public void setIdleEvictionTimeout(Duration idleEvictionTimeout) {
+        this.idleEvictionTimeout = idleEvictionTimeout;
+    }
+    public Duration getConnectionTimeToLive() {
+        return connectionTimeToLive;
+    }
+    public void setConnectionTimeToLive(Duration connectionTimeToLive) {
+        this.connectionTimeToLive = connectionTimeToLive;
+    }
+    public int getMaxConcurrentCalls() {
+        return maxConcurrentCalls;
+    }
+    public void setMaxConcurrentCalls(int maxConcurrentCalls) {
+        this.maxConcurrentCalls = maxConcurrentCalls;
+    }
+    public Duration getAcquireTimeout() {
+        return acquireTimeout;
+    }
+    public void setAcquireTimeout(Duration acquireTimeout) {
+        this.acquireTimeout = acquireTimeout;
+    }
 }
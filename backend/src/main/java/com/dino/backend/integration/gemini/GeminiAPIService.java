@@ -1,21 +1,29 @@
 package com.dino.backend.integration.gemini;
 
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.core.io.Resource;
-import org.springframework.core.io.ResourceLoader;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.http.*;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 
+import com.dino.backend.service.ChatReplyParser;
+import com.dino.backend.service.PromptRegistry;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import java.io.BufferedReader;
 import java.io.IOException;
+import java.io.InputStreamReader;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 import org.slf4j.LoggerFactory;
 import org.slf4j.Logger;
@@ -23,126 +31,243 @@ import org.slf4j.Logger;
 @Service
 public class GeminiAPIService implements GeminiAPI {
 
-        private static final Logger logger = LoggerFactory.getLogger(GeminiAPIService.class);
+    private static final Logger logger = LoggerFactory.getLogger(GeminiAPIService.class);
 
-
-    @Value("${gemini.flash.api.url}")
-    private String geminiApiUrl;
-
-    @Value("${gemini.flash.api.key}")
-    private String apiKey;
+    // Thread-safe once configured; shared by every parse in this class
+    private static final ObjectMapper MAPPER = new ObjectMapper();
 
     private final RestTemplate restTemplate;
-    private final ResourceLoader resourceLoader;
+    private final PromptRegistry promptRegistry;
+    private final GeminiAPIProperties properties;
+    private final GeminiResilience resilience;
+    private final GeminiMetrics metrics;
 
-    public GeminiAPIService(ResourceLoader resourceLoader) {
-        this.restTemplate = new RestTemplate();
-        this.resourceLoader = resourceLoader;
+    // Endpoint names for the circuit breakers and metrics
+    private static final String GENERATE = "generateContent";
+    private static final String STREAM = "streamGenerateContent";
+
+    public GeminiAPIService(@Qualifier("geminiRestTemplate") RestTemplate restTemplate,
+                            PromptRegistry promptRegistry,
+                            GeminiAPIProperties properties,
+                            GeminiResilience resilience,
+                            GeminiMetrics metrics) {
+        this.restTemplate = restTemplate;
+        this.promptRegistry = promptRegistry;
+        this.properties = properties;
+        this.resilience = resilience;
+        this.metrics = metrics;
     }
 
     @Override
     public String getResponse(String input) {
-        // Append the API key as a query parameter
-        String endpoint = geminiApiUrl + "?key=" + apiKey;
+        return metrics.record("getResponse", input, () -> generate(input), ChatReplyParser::modelText);
+    }
 
-        // Construct the request body in the format Google expects
-        Map<String, Object> requestBody = new HashMap<>();
-        Map<String, Object> content = new HashMap<>();
-        Map<String, Object> part = new HashMap<>();
+    @Override
+    public String getResponseText(String input) {
+        return metrics.record("getResponseText", input,
+                () -> ChatReplyParser.modelText(generate(input)), Function.identity());
+    }
 
-        part.put("text", input);
-        content.put("parts", Collections.singletonList(part));
-        content.put("role", "user");
-        requestBody.put("contents", Collections.singletonList(content));
+    /**
+     * Posts a single-turn generateContent request through the resilience layer.
+     *
+     * @return the raw response body
+     */
+    private String generate(String text) {
+        String endpoint = properties.getUrl();
 
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.APPLICATION_JSON);
+        HttpHeaders headers = headers();
 
-        HttpEntity<Map<String, Object>> entity = new HttpEntity<>(requestBody, headers);
-        ResponseEntity<String> response = restTemplate.postForEntity(endpoint, entity, String.class);
+        HttpEntity<Map<String, Object>> entity = new HttpEntity<>(requestBody(text), headers);
+        ResponseEntity<String> response = resilience.execute(GENERATE, true, () -> true,
+                () -> restTemplate.postForEntity(endpoint, entity, String.class));
         return response.getBody();
     }
 
-    @Override
-    public String getGrammarFeedback(String input) {
-        // Append the API key as a query parameter
-        String endpoint = geminiApiUrl + "?key=" + apiKey;
+    // The API key travels as a header rather than ?key=, so it stays out of client span URLs and logs
+    private HttpHeaders headers() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.set("x-goog-api-key", properties.getKey());
+        return headers;
+    }
 
-        // Construct the request body
+    // The request body in the format Google expects
+    private static Map<String, Object> requestBody(String text) {
         Map<String, Object> requestBody = new HashMap<>();
         Map<String, Object> content = new HashMap<>();
         Map<String, Object> part = new HashMap<>();
 
-        part.put("text", "Provide grammar feedback for: " + input);
+        part.put("text", text);
         content.put("parts", Collections.singletonList(part));
         content.put("role", "user");
         requestBody.put("contents", Collections.singletonList(content));
+        return requestBody;
+    }
 
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.APPLICATION_JSON);
+    @Override
+    public String streamResponse(String input, Consumer<String> onChunk) {
+        // alt=sse makes Gemini emit one "data:" line per GenerateContentResponse chunk
+        String endpoint = resolveStreamUrl() + "?alt=sse";
 
-        HttpEntity<Map<String, Object>> entity = new HttpEntity<>(requestBody, headers);
-        ResponseEntity<String> response = restTemplate.postForEntity(endpoint, entity, String.class);
-        return response.getBody();
+        HttpHeaders headers = headers();
+        headers.setAccept(Collections.singletonList(MediaType.TEXT_EVENT_STREAM));
+
+        HttpEntity<Map<String, Object>> entity = new HttpEntity<>(requestBody(input), headers);
+        // Chunks already passed on cannot be taken back, so only retry before the first one
+        AtomicBoolean emitted = new AtomicBoolean();
+        return metrics.record("streamResponse", input,
+                () -> resilience.execute(STREAM, false, () -> !emitted.get(), () -> restTemplate.execute(
+                endpoint, HttpMethod.POST, restTemplate.httpEntityCallback(entity), response -> {
+            StringBuilder fullText = new StringBuilder();
+            try (BufferedReader reader = new BufferedReader(
+                    new InputStreamReader(response.getBody(), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (!line.startsWith("data:")) {
+                        continue;
+                    }
+                    String chunk = extractText(line.substring("data:".length()).trim());
+                    if (!chunk.isEmpty()) {
+                        fullText.append(chunk);
+                        emitted.set(true);
+                        onChunk.accept(chunk);
+                    }
+                }
+            }
+            return fullText.toString();
+        })), Function.identity());
+    }
+
+    private String resolveStreamUrl() {
+        String streamUrl = properties.getStreamUrl();
+        if (streamUrl != null && !streamUrl.isBlank()) {
+            return streamUrl;
+        }
+        return properties.getUrl().replace(":generateContent", ":streamGenerateContent");
+    }
+
+    private String extractText(String chunkJson) throws IOException {
+        JsonNode textNode = MAPPER.readTree(chunkJson)
+                .path("candidates").path(0).path("content").path("parts").path(0).path("text");
+        return textNode.isMissingNode() ? "" : textNode.asText();
+    }
+
+    @Override
+    public String getGrammarFeedback(String input) {
+        String prompt = "Provide grammar feedback for: " + input;
+        return metrics.record("getGrammarFeedback", prompt, () -> generate(prompt), ChatReplyParser::modelText);
     }
 
     public String generateVocabulary(Long userId, List<String> recentMessages, String language) {
-        try {
-            Resource promptResource = resourceLoader.getResource("classpath:prompts/vocabulary_prompt.txt");
-            String promptTemplate = new String(promptResource.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
-    
-            String chatHistory = recentMessages.isEmpty() ? "No recent messages." : String.join("\n", recentMessages);
-            String prompt = String.format(promptTemplate, chatHistory, language != null ? language : "English");
-    
-            String endpoint = geminiApiUrl + "?key=" + apiKey;
-    
-            Map<String, Object> requestBody = new HashMap<>();
-            Map<String, Object> content = new HashMap<>();
-            Map<String, Object> part = new HashMap<>();
-    
-            part.put("text", prompt);
-            content.put("parts", Collections.singletonList(part));
-            content.put("role", "user");
-            requestBody.put("contents", Collections.singletonList(content));
-    
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_JSON);
-    
-            HttpEntity<Map<String, Object>> entity = new HttpEntity<>(requestBody, headers);
-            ResponseEntity<String> response = restTemplate.postForEntity(endpoint, entity, String.class);
-    
-            return extractJsonArray(response.getBody());
-        } catch (IOException e) {
-            throw new RuntimeException("Failed to load vocabulary prompt", e);
+        String chatHistory = recentMessages.isEmpty() ? "No recent messages." : String.join("\n", recentMessages);
+        String prompt = promptRegistry.get("vocabulary_prompt")
+                .render(chatHistory, language != null ? language : "English");
+
+        return metrics.record("generateVocabulary", prompt,
+                () -> extractJsonArray(generate(prompt)), Function.identity());
+    }
+
+    /**
+     * Generates vocabulary for several users with a single Gemini request.
+     *
+     * Learners appear in the prompt under per-request keys (L1, L2, ...) rather
+     * than their user IDs, with each history JSON-encoded so its text cannot
+     * pass for another learner's. A returned set is only attributed when its
+     * evidence phrase occurs in the claimed learner's history and in no other.
+     *
+     * @param recentMessagesByUser each user's recent messages
+     * @param language the language the vocabulary is for
+     * @return each user's vocabulary as a JSON array string; users whose set was
+     *         missing or could not be attributed are absent
+     * @throws IOException if the response is not the expected JSON object
+     */
+    public Map<Long, String> generateVocabularyBatch(Map<Long, List<String>> recentMessagesByUser,
+                                                     String language) throws IOException {
+        List<Long> userIds = new ArrayList<>(recentMessagesByUser.keySet());
+        List<String> histories = new ArrayList<>();
+        List<Map<String, String>> learners = new ArrayList<>();
+        for (int i = 0; i < userIds.size(); i++) {
+            String history = String.join("\n", recentMessagesByUser.get(userIds.get(i)));
+            histories.add(normalizeForMatch(history));
+            learners.add(Map.of("learner", learnerKey(i), "history", history));
+        }
+        String prompt = promptRegistry.get("vocabulary_batch_prompt")
+                .render(language != null ? language : "English", MAPPER.writeValueAsString(learners));
+
+        String text = metrics.record("generateVocabularyBatch", prompt,
+                () -> ChatReplyParser.modelText(generate(prompt)), Function.identity());
+        int start = text.indexOf('{');
+        int end = text.lastIndexOf('}');
+        if (start < 0 || end <= start) {
+            throw new IOException("Batch vocabulary response is not a JSON object");
         }
+
+        Map<Long, String> vocabularyByUser = new LinkedHashMap<>();
+        JsonNode root = MAPPER.readTree(text.substring(start, end + 1));
+        for (int i = 0; i < userIds.size(); i++) {
+            JsonNode entry = root.path(learnerKey(i));
+            JsonNode vocabulary = entry.path("vocabulary");
+            if (!vocabulary.isArray()) {
+                continue;
+            }
+            if (!attributable(normalizeForMatch(entry.path("evidence").asText("")), i, histories)) {
+                logger.warn("Batch vocabulary for learner {} could not be attributed; generating it singly", learnerKey(i));
+                continue;
+            }
+            vocabularyByUser.put(userIds.get(i), MAPPER.writeValueAsString(vocabulary));
+        }
+        return vocabularyByUser;
     }
 
-private String extractJsonArray(String response) {
-    try {
-        // Parse the full response to navigate to the text field
-        ObjectMapper mapper = new ObjectMapper();
-        JsonNode root = mapper.readTree(response);
-        JsonNode textNode = root.path("candidates").path(0).path("content").path("parts").path(0).path("text");
-        if (textNode.isMissingNode()) {
-            return "[]";
+    private static String learnerKey(int index) {
+        return "L" + (index + 1);
+    }
+
+    // The evidence must occur in the claimed learner's history and nobody else's
+    private static boolean attributable(String evidence, int learner, List<String> histories) {
+        if (evidence.isEmpty() || !histories.get(learner).contains(evidence)) {
+            return false;
+        }
+        for (int i = 0; i < histories.size(); i++) {
+            if (i != learner && histories.get(i).contains(evidence)) {
+                return false;
+            }
         }
+        return true;
+    }
 
-        String text = textNode.asText();
-        // Extract the JSON array from the markdown code block
-        String jsonStartMarker = "```json\n";
-        String jsonEndMarker = "\n```";
-        int start = text.indexOf(jsonStartMarker) + jsonStartMarker.length();
-        int end = text.lastIndexOf(jsonEndMarker);
-        if (start >= jsonStartMarker.length() && end > start) {
-            String jsonArray = text.substring(start, end).trim();
-            // Validate JSON
-            mapper.readTree(jsonArray); // Throws if invalid
-            return jsonArray;
+    private static String normalizeForMatch(String text) {
+        return text.strip().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    // Package-private so GeminiResponseBenchmark can measure it
+    static String extractJsonArray(String response) {
+        try {
+            // Parse the full response to navigate to the text field
+            JsonNode root = MAPPER.readTree(response);
+            JsonNode textNode = root.path("candidates").path(0).path("content").path("parts").path(0).path("text");
+            if (textNode.isMissingNode()) {
+                return "[]";
+            }
+
+            String text = textNode.asText();
+            // Extract the JSON array from the markdown code block
+            String jsonStartMarker = "```json\n";
+            String jsonEndMarker = "\n```";
+            int start = text.indexOf(jsonStartMarker) + jsonStartMarker.length();
+            int end = text.lastIndexOf(jsonEndMarker);
+            if (start >= jsonStartMarker.length() && end > start) {
+                String jsonArray = text.substring(start, end).trim();
+                // Validate JSON
+                MAPPER.readTree(jsonArray); // Throws if invalid
+                return jsonArray;
+            }
+            return "[]";
+        } catch (Exception e) {
+            logger.error("Failed to extract JSON array from response: {}", response, e);
+            return "[]";
         }
-        return "[]";
-    } catch (Exception e) {
-        logger.error("Failed to extract JSON array from response: {}", response, e);
-        return "[]";
     }
-}
 }
\ No newline at end of file
@@ -0,0 +1,116 @@
+package com.dino.backend.integration.gemini;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+
+import com.dino.backend.exception.GeminiCapacityExceededException;
+
+import io.micrometer.context.ContextExecutorService;
+import io.micrometer.context.ContextSnapshotFactory;
+
+/**
+ * Runs work that calls Gemini on virtual threads, capping how many such calls
+ * may be in flight at once. Callers over the cap are rejected immediately (or
+ * after the configured acquire timeout) instead of queueing without bound.
+ */
+@Component
+public class GeminiCallGate implements DisposableBean {
+
+    private final Semaphore permits;
+    private final long acquireTimeoutNanos;
+    // Carries the caller's observation over, so the Gemini span stays in the request's trace
+    private final ExecutorService executor = ContextExecutorService.wrap(
+            Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("gemini-", 0).factory()),
+            ContextSnapshotFactory.builder().build());
+
+    public GeminiCallGate(GeminiAPIProperties properties) {
+        this.permits = new Semaphore(properties.getMaxConcurrentCalls());
+        this.acquireTimeoutNanos = properties.getAcquireTimeout().toNanos();
+    }
+
+    /**
+     * Submits a task that calls Gemini.
+     *
+     * @param task the work to run on a virtual thread
+     * @return a future completed with the task result
+     * @throws GeminiCapacityExceededException if no permit is available
+     */
+    public <T> CompletableFuture<T> submit(Callable<T> task) {
+        acquire();
+        CompletableFuture<T> result = new CompletableFuture<>();
+        try {
+            executor.execute(() -> {
+                try {
+                    result.complete(task.call());
+                } catch (Throwable t) {
+                    result.completeExceptionally(t);
+                } finally {
+                    permits.release();
+                }
+            });
+        } catch (RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+        return result;
+    }
+
+    /**
+     * Runs a task that calls Gemini without a result, e.g. one that writes to a stream.
+     *
+     * @param task the work to run on a virtual thread
+     * @throws GeminiCapacityExceededException if no permit is available
+     */
+    public void execute(Runnable task) {
+        submit(() -> {
+            task.run();
+            return null;
+        });
+    }
+
+    /**
+     * Takes a permit without waiting, for an extra call made on behalf of one
+     * already running, e.g. a hedge. A permit taken must be given back with
+     * {@link #release()}.
+     *
+     * @return whether a permit was taken
+     */
+    public boolean tryAcquire() {
+        return permits.tryAcquire();
+    }
+
+    public void release() {
+        permits.release();
+    }
+
+    public int getAvailablePermits() {
+        return permits.availablePermits();
+    }
+
+    private void acquire() {
+        boolean acquired;
+        try {
+            acquired = acquireTimeoutNanos <= 0
+                    ? permits.tryAcquire()
+                    : permits.tryAcquire(acquireTimeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired) {
+            throw new GeminiCapacityExceededException("Too many concurrent Gemini calls");
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+}
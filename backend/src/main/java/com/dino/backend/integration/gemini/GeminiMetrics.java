@@ -0,0 +1,156 @@
+package com.dino.backend.integration.gemini;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import com.dino.backend.exception.GeminiUnavailableException;
+import com.dino.backend.service.TokenEstimator;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+
+/**
+ * Per-method instrumentation of the Gemini client:
+ * <ul>
+ *   <li>gemini.api.requests{method, outcome}: call latency, including retries and hedges</li>
+ *   <li>gemini.prompt.chars / gemini.prompt.tokens{method}: size of the text sent</li>
+ *   <li>gemini.response.chars / gemini.response.tokens{method}: size of the text generated</li>
+ *   <li>a gemini.call observation (span) per call, carrying the same sizes as attributes;
+ *       the HTTP client spans of its attempts nest under it</li>
+ * </ul>
+ * Token counts are TokenEstimator approximations, not Gemini's usage metadata.
+ */
+@Component
+public class GeminiMetrics {
+
+    private final MeterRegistry meterRegistry;
+    private final ObservationRegistry observationRegistry;
+    // Meters are registered once per method and looked up here, not rebuilt on every call
+    private final ConcurrentMap<String, MethodMeters> meters = new ConcurrentHashMap<>();
+
+    public GeminiMetrics(MeterRegistry meterRegistry, ObservationRegistry observationRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.observationRegistry = observationRegistry;
+    }
+
+    /**
+     * Times a call and records the size of its prompt and of the generated text.
+     *
+     * @param method       the GeminiAPIService method, used as the method tag
+     * @param prompt       the text sent to Gemini
+     * @param call         the call to make
+     * @param responseText gives the generated text of the call's result; pass
+     *                     Function.identity() when the call already returns it,
+     *                     rather than extracting it a second time
+     * @return the call's result
+     */
+    public <T> T record(String method, String prompt, Supplier<T> call, Function<? super T, String> responseText) {
+        MethodMeters methodMeters = meters.computeIfAbsent(method, this::methodMeters);
+        methodMeters.recordPrompt(prompt);
+        Observation observation = Observation.createNotStarted("gemini.call", observationRegistry)
+                .contextualName("gemini " + method)
+                .lowCardinalityKeyValue("method", method);
+        sizeKeyValues(observation, "prompt", prompt);
+        observation.start();
+
+        long start = System.nanoTime();
+        String outcome = "success";
+        try (Observation.Scope scope = observation.openScope()) {
+            T result = call.get();
+            String text = responseText.apply(result);
+            methodMeters.recordResponse(text);
+            sizeKeyValues(observation, "response", text);
+            return result;
+        } catch (RuntimeException e) {
+            outcome = outcome(e);
+            observation.error(e);
+            throw e;
+        } finally {
+            observation.lowCardinalityKeyValue("outcome", outcome).stop();
+            methodMeters.timers().computeIfAbsent(outcome, key -> timer(method, key))
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private static void sizeKeyValues(Observation observation, String prefix, String text) {
+        if (text != null) {
+            observation.highCardinalityKeyValue(prefix + ".chars", String.valueOf(text.length()));
+            observation.highCardinalityKeyValue(prefix + ".tokens", String.valueOf(TokenEstimator.estimate(text)));
+        }
+    }
+
+    private static String outcome(RuntimeException e) {
+        if (e instanceof GeminiUnavailableException) {
+            return "unavailable";
+        }
+        if (e instanceof HttpClientErrorException) {
+            return "client_error";
+        }
+        if (e instanceof HttpServerErrorException) {
+            return "server_error";
+        }
+        if (e instanceof ResourceAccessException) {
+            return "io_error";
+        }
+        return "error";
+    }
+
+    private MethodMeters methodMeters(String method) {
+        return new MethodMeters(
+                summary("gemini.prompt.chars", method, "characters"),
+                summary("gemini.prompt.tokens", method, "tokens"),
+                summary("gemini.response.chars", method, "characters"),
+                summary("gemini.response.tokens", method, "tokens"),
+                new ConcurrentHashMap<>());
+    }
+
+    private Timer timer(String method, String outcome) {
+        return Timer.builder("gemini.api.requests")
+                .tag("method", method)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    private DistributionSummary summary(String name, String method, String baseUnit) {
+        return DistributionSummary.builder(name)
+                .tag("method", method)
+                .baseUnit(baseUnit)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    /**
+     * The meters of one method; request timers are added per outcome as outcomes occur.
+     */
+    private record MethodMeters(DistributionSummary promptChars, DistributionSummary promptTokens,
+                                DistributionSummary responseChars, DistributionSummary responseTokens,
+                                ConcurrentMap<String, Timer> timers) {
+
+        void recordPrompt(String text) {
+            record(promptChars, promptTokens, text);
+        }
+
+        void recordResponse(String text) {
+            record(responseChars, responseTokens, text);
+        }
+
+        private static void record(DistributionSummary chars, DistributionSummary tokens, String text) {
+            if (text != null) {
+                chars.record(text.length());
+                tokens.record(TokenEstimator.estimate(text));
+            }
+        }
+    }
+}
@@ -0,0 +1,303 @@
+package com.dino.backend.integration.gemini;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.ResourceAccessException;
+
+import com.dino.backend.exception.GeminiUnavailableException;
+
+import io.micrometer.context.ContextExecutorService;
+import io.micrometer.context.ContextSnapshotFactory;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Wraps every Gemini HTTP call with a per-endpoint circuit breaker, bounded
+ * retries with full-jitter exponential backoff for 429, 5xx and I/O errors,
+ * and optional hedging of idempotent calls.
+ *
+ * A hedge takes a GeminiCallGate permit of its own and is skipped when none
+ * is free; the losing request of a hedged pair is aborted through its
+ * AbortHandle, which closes its connection.
+ *
+ * Metrics, tagged by endpoint: gemini.circuit.state (0 closed, 1 open,
+ * 2 half-open), gemini.circuit.rejected, gemini.retries, gemini.hedges
+ * (outcome=sent|won|skipped).
+ */
+@Component
+public class GeminiResilience {
+
+    private static final Logger logger = LoggerFactory.getLogger(GeminiResilience.class);
+
+    private final GeminiResilienceProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final GeminiCallGate callGate;
+    private final Map<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+    private final ExecutorService hedgeExecutor = ContextExecutorService.wrap(
+            Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("gemini-hedge-", 0).factory()),
+            ContextSnapshotFactory.builder().build());
+
+    public GeminiResilience(GeminiResilienceProperties properties, MeterRegistry meterRegistry,
+                            GeminiCallGate callGate) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.callGate = callGate;
+    }
+
+    /**
+     * Runs a call against the named endpoint.
+     *
+     * @param endpoint     the endpoint name, used for the breaker and metric tags
+     * @param hedgeable    whether the call is idempotent and may be duplicated
+     * @param retryAllowed checked before each retry, e.g. false once a stream has produced output
+     * @param call         the HTTP call
+     * @return the call's result
+     * @throws GeminiUnavailableException if the endpoint's circuit is open
+     */
+    public <T> T execute(String endpoint, boolean hedgeable, BooleanSupplier retryAllowed, Supplier<T> call) {
+        Endpoint state = endpoints.computeIfAbsent(endpoint, this::register);
+        for (int attempt = 1; ; attempt++) {
+            if (!state.breaker.tryAcquire()) {
+                state.rejected.increment();
+                throw new GeminiUnavailableException("Gemini " + endpoint + " circuit is open",
+                        state.breaker.getRemainingOpenTime());
+            }
+
+            long start = System.nanoTime();
+            try {
+                T result = hedgeable && properties.isHedgingEnabled() ? hedged(state, call) : call.get();
+                state.breaker.onSuccess();
+                state.recordLatency(System.nanoTime() - start);
+                return result;
+            } catch (RuntimeException e) {
+                boolean retryable = isRetryable(e);
+                if (retryable) {
+                    state.breaker.onFailure();
+                } else {
+                    // The request was at fault, not the upstream
+                    state.breaker.onSuccess();
+                }
+                if (!retryable || attempt >= properties.getMaxAttempts() || !retryAllowed.getAsBoolean()) {
+                    throw e;
+                }
+
+                Duration backoff = backoff(attempt, e);
+                logger.warn("Gemini {} attempt {} failed ({}); retrying in {} ms",
+                        endpoint, attempt, e.getMessage(), backoff.toMillis());
+                state.retries.increment();
+                try {
+                    Thread.sleep(backoff);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    throw e;
+                }
+            }
+        }
+    }
+
+    private <T> T hedged(Endpoint state, Supplier<T> call) {
+        long delayNanos = state.hedgeDelayNanos();
+        if (delayNanos < 0) {
+            return call.get();
+        }
+
+        AbortHandle primaryHandle = new AbortHandle();
+        CompletableFuture<T> primary = CompletableFuture.supplyAsync(() -> primaryHandle.run(call), hedgeExecutor);
+        try {
+            return primary.get(delayNanos, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            // Slower than usual; race a second request against it
+        } catch (ExecutionException e) {
+            throw unwrap(e.getCause());
+        } catch (InterruptedException e) {
+            primaryHandle.abort();
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Interrupted while waiting for Gemini");
+        }
+
+        // The hedge is a call of its own, so it needs its own permit; without one, keep waiting
+        if (!callGate.tryAcquire()) {
+            state.hedgesSkipped.increment();
+            try {
+                return primary.join();
+            } catch (CompletionException e) {
+                throw unwrap(e.getCause());
+            }
+        }
+
+        state.hedgesSent.increment();
+        AbortHandle hedgeHandle = new AbortHandle();
+        CompletableFuture<T> hedge;
+        try {
+            hedge = CompletableFuture.supplyAsync(() -> {
+                try {
+                    return hedgeHandle.run(call);
+                } finally {
+                    callGate.release();
+                }
+            }, hedgeExecutor);
+        } catch (RuntimeException e) {
+            callGate.release();
+            throw e;
+        }
+        CompletableFuture<T> first = new CompletableFuture<>();
+        primary.whenComplete((result, error) -> {
+            if (error == null) {
+                first.complete(result);
+            } else if (hedge.isCompletedExceptionally()) {
+                first.completeExceptionally(error);
+            }
+        });
+        hedge.whenComplete((result, error) -> {
+            if (error == null) {
+                if (first.complete(result)) {
+                    state.hedgesWon.increment();
+                }
+            } else if (primary.isCompletedExceptionally()) {
+                first.completeExceptionally(error);
+            }
+        });
+        try {
+            return first.join();
+        } catch (CompletionException e) {
+            throw unwrap(e.getCause());
+        } finally {
+            // Closes the loser's connection rather than letting it read a response nobody wants
+            primaryHandle.abort();
+            hedgeHandle.abort();
+        }
+    }
+
+    private static RuntimeException unwrap(Throwable cause) {
+        if (cause instanceof CompletionException && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause instanceof RuntimeException runtime ? runtime : new IllegalStateException(cause);
+    }
+
+    private static boolean isRetryable(RuntimeException e) {
+        if (e instanceof ResourceAccessException) {
+            return true;
+        }
+        if (e instanceof HttpStatusCodeException status) {
+            int code = status.getStatusCode().value();
+            return code == 429 || code == 500 || code == 502 || code == 503 || code == 504;
+        }
+        return false;
+    }
+
+    private Duration backoff(int attempt, RuntimeException e) {
+        long ceiling = Math.min(properties.getMaxBackoff().toMillis(),
+                (long) (properties.getInitialBackoff().toMillis() * Math.pow(properties.getBackoffMultiplier(), attempt - 1)));
+        long millis = ThreadLocalRandom.current().nextLong(Math.max(ceiling, 1) + 1);
+
+        // Honour the server's Retry-After within the same cap
+        if (e instanceof HttpStatusCodeException status && status.getResponseHeaders() != null) {
+            String retryAfter = status.getResponseHeaders().getFirst(HttpHeaders.RETRY_AFTER);
+            if (retryAfter != null) {
+                try {
+                    millis = Math.max(millis, Math.min(Long.parseLong(retryAfter.trim()) * 1000,
+                            properties.getMaxBackoff().toMillis()));
+                } catch (NumberFormatException ignored) {
+                    // HTTP-date form; fall back to the computed backoff
+                }
+            }
+        }
+        return Duration.ofMillis(millis);
+    }
+
+    private Endpoint register(String endpoint) {
+        Endpoint state = new Endpoint(
+                new CircuitBreaker(properties.getSlidingWindowSize(), properties.getMinimumCalls(),
+                        properties.getFailureRateThreshold(), properties.getOpenDuration(), properties.getHalfOpenCalls()),
+                Counter.builder("gemini.circuit.rejected").tag("endpoint", endpoint).register(meterRegistry),
+                Counter.builder("gemini.retries").tag("endpoint", endpoint).register(meterRegistry),
+                Counter.builder("gemini.hedges").tag("endpoint", endpoint).tag("outcome", "sent").register(meterRegistry),
+                Counter.builder("gemini.hedges").tag("endpoint", endpoint).tag("outcome", "won").register(meterRegistry),
+                Counter.builder("gemini.hedges").tag("endpoint", endpoint).tag("outcome", "skipped").register(meterRegistry));
+        Gauge.builder("gemini.circuit.state", state.breaker, breaker -> breaker.getState().ordinal())
+                .description("0 closed, 1 open, 2 half-open")
+                .tag("endpoint", endpoint)
+                .register(meterRegistry);
+        return state;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        hedgeExecutor.shutdownNow();
+    }
+
+    private final class Endpoint {
+
+        private static final int LATENCY_SAMPLES = 256;
+        private static final int RECOMPUTE_EVERY = 32;
+
+        final CircuitBreaker breaker;
+        final Counter rejected;
+        final Counter retries;
+        final Counter hedgesSent;
+        final Counter hedgesWon;
+        final Counter hedgesSkipped;
+
+        // Recent successful call latencies; guarded by this
+        private final long[] latencies = new long[LATENCY_SAMPLES];
+        private int samples;
+        private int next;
+        private volatile long percentileNanos = -1;
+
+        Endpoint(CircuitBreaker breaker, Counter rejected, Counter retries, Counter hedgesSent, Counter hedgesWon,
+                 Counter hedgesSkipped) {
+            this.breaker = breaker;
+            this.rejected = rejected;
+            this.retries = retries;
+            this.hedgesSent = hedgesSent;
+            this.hedgesWon = hedgesWon;
+            this.hedgesSkipped = hedgesSkipped;
+        }
+
+        synchronized void recordLatency(long nanos) {
+            latencies[next] = nanos;
+            next = (next + 1) % LATENCY_SAMPLES;
+            samples = Math.min(samples + 1, LATENCY_SAMPLES);
+            if (samples >= properties.getHedgeMinSamples() && next % RECOMPUTE_EVERY == 0) {
+                long[] sorted = Arrays.copyOf(latencies, samples);
+                Arrays.sort(sorted);
+                int index = (int) Math.ceil(properties.getHedgePercentile() * samples) - 1;
+                percentileNanos = sorted[Math.max(0, Math.min(index, samples - 1))];
+            }
+        }
+
+        /**
+         * @return how long to wait before hedging, or -1 while there is too
+         *         little latency history or the breaker is not closed
+         */
+        long hedgeDelayNanos() {
+            long percentile = percentileNanos;
+            if (percentile < 0 || breaker.getState() != CircuitBreaker.State.CLOSED) {
+                return -1;
+            }
+            return Math.max(percentile, properties.getMinHedgeDelay().toNanos());
+        }
+    }
+}
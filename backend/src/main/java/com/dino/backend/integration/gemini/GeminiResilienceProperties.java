@@ -0,0 +1,110 @@
+package com.dino.backend.integration.gemini;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "gemini.resilience")
+public class GeminiResilienceProperties {
+
+    // Circuit breaker, per endpoint, over a sliding window of the most recent calls
+    private int slidingWindowSize = 50;
+    private int minimumCalls = 20;
+    private double failureRateThreshold = 0.5;
+    private Duration openDuration = Duration.ofSeconds(30);
+    private int halfOpenCalls = 3;
+
+    // Retries for 429, 5xx and I/O errors, with full-jitter exponential backoff
+    private int maxAttempts = 3;
+    private Duration initialBackoff = Duration.ofMillis(200);
+    private Duration maxBackoff = Duration.ofSeconds(2);
+    private double backoffMultiplier = 2.0;
+
+    // Hedging: a second identical request once the first has taken longer than
+    // the observed latency percentile (never sooner than minHedgeDelay)
+    private boolean hedgingEnabled = false;
+    private double hedgePercentile = 0.95;
+    private Duration minHedgeDelay = Duration.ofMillis(500);
+    private int hedgeMinSamples = 20;
+
+    public int getSlidingWindowSize() {
+        return slidingWindowSize;
+    }
+    public void setSlidingWindowSize(int slidingWindowSize) {
+        this.slidingWindowSize = slidingWindowSize;
+    }
+    public int getMinimumCalls() {
+        return minimumCalls;
+    }
+    public void setMinimumCalls(int minimumCalls) {
+        this.minimumCalls = minimumCalls;
+    }
+    public double getFailureRateThreshold() {
+        return failureRateThreshold;
+    }
+    public void setFailureRateThreshold(double failureRateThreshold) {
+        this.failureRateThreshold = failureRateThreshold;
+    }
+    public Duration getOpenDuration() {
+        return openDuration;
+    }
+    public void setOpenDuration(Duration openDuration) {
+        this.openDuration = openDuration;
+    }
+    public int getHalfOpenCalls() {
+        return halfOpenCalls;
+    }
+    public void setHalfOpenCalls(int halfOpenCalls) {
+        this.halfOpenCalls = halfOpenCalls;
+    }
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+    public void setMaxAttempts(int maxAttempts) {
+        this.maxAttempts = maxAttempts;
+    }
+    public Duration getInitialBackoff() {
+        return initialBackoff;
+    }
+    public void setInitialBackoff(Duration initialBackoff) {
+        this.initialBackoff = initialBackoff;
+    }
+    public Duration getMaxBackoff() {
+        return maxBackoff;
+    }
+    public void setMaxBackoff(Duration maxBackoff) {
+        this.maxBackoff = maxBackoff;
+    }
+    public double getBackoffMultiplier() {
+        return backoffMultiplier;
+    }
+    public void setBackoffMultiplier(double backoffMultiplier) {
+        this.backoffMultiplier = backoffMultiplier;
+    }
+    public boolean isHedgingEnabled() {
+        return hedgingEnabled;
+    }
+    public void setHedgingEnabled(boolean hedgingEnabled) {
+        this.hedgingEnabled = hedgingEnabled;
+    }
+    public double getHedgePercentile() {
+        return hedgePercentile;
+    }
+    public void setHedgePercentile(double hedgePercentile) {
+        this.hedgePercentile = hedgePercentile;
+    }
+    public Duration getMinHedgeDelay() {
+        return minHedgeDelay;
+    }
+    public void setMinHedgeDelay(Duration minHedgeDelay) {
+        this.minHedgeDelay = minHedgeDelay;
+    }
+    public int getHedgeMinSamples() {
+        return hedgeMinSamples;
+    }
+    public void setHedgeMinSamples(int hedgeMinSamples) {
+        this.hedgeMinSamples = hedgeMinSamples;
+    }
+}
@@ -0,0 +1,143 @@
+package com.dino.backend.integration.gemini;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import com.dino.backend.config.VocabularyBatchProperties;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Coalesces vocabulary generation for different users into shared Gemini
+ * requests. The first request for a language opens a batch that is sent when
+ * it reaches maxBatchSize users or when the linger time runs out, whichever
+ * comes first. A batch of one uses the regular single-user prompt, and users
+ * missing from a batch response, or whose set cannot be attributed to them,
+ * are retried individually.
+ */
+@Component
+public class VocabularyBatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(VocabularyBatcher.class);
+
+    private record Pending(Long userId, List<String> recentMessages, CompletableFuture<String> result) {
+    }
+
+    private final GeminiAPIService geminiAPIService;
+    private final VocabularyBatchProperties properties;
+
+    private final ScheduledExecutorService lingerTimer = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("vocab-batch-linger").daemon().factory());
+    private final ExecutorService dispatcher = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("vocab-batch-", 0).factory());
+
+    // Open batches by language; guarded by this
+    private final Map<String, List<Pending>> openBatches = new HashMap<>();
+
+    public VocabularyBatcher(GeminiAPIService geminiAPIService, VocabularyBatchProperties properties) {
+        this.geminiAPIService = geminiAPIService;
+        this.properties = properties;
+    }
+
+    /**
+     * Queues a user for vocabulary generation.
+     *
+     * @param userId the ID of the user
+     * @param recentMessages the user's recent messages
+     * @param language the language the vocabulary is for
+     * @return completes with the user's vocabulary as a JSON array string
+     */
+    public CompletableFuture<String> submit(Long userId, List<String> recentMessages, String language) {
+        Pending request = new Pending(userId, recentMessages, new CompletableFuture<>());
+        if (!properties.isEnabled() || properties.getMaxBatchSize() <= 1) {
+            generateSingly(request, language);
+            return request.result();
+        }
+
+        List<Pending> full = null;
+        synchronized (this) {
+            List<Pending> batch = openBatches.computeIfAbsent(language, key -> new ArrayList<>());
+            batch.add(request);
+            if (batch.size() == 1) {
+                lingerTimer.schedule(() -> flush(language, batch),
+                        properties.getLinger().toNanos(), TimeUnit.NANOSECONDS);
+            }
+            if (batch.size() >= properties.getMaxBatchSize()) {
+                openBatches.remove(language);
+                full = batch;
+            }
+        }
+        if (full != null) {
+            dispatch(language, full);
+        }
+        return request.result();
+    }
+
+    private void flush(String language, List<Pending> batch) {
+        synchronized (this) {
+            // Already sent because it filled up
+            if (openBatches.get(language) != batch) {
+                return;
+            }
+            openBatches.remove(language);
+        }
+        dispatch(language, batch);
+    }
+
+    private void dispatch(String language, List<Pending> batch) {
+        dispatcher.execute(() -> {
+            if (batch.size() == 1) {
+                generateSingly(batch.get(0), language);
+                return;
+            }
+
+            Map<Long, List<String>> recentMessagesByUser = new LinkedHashMap<>();
+            batch.forEach(request -> recentMessagesByUser.put(request.userId(), request.recentMessages()));
+            Map<Long, String> vocabularyByUser;
+            try {
+                vocabularyByUser = geminiAPIService.generateVocabularyBatch(recentMessagesByUser, language);
+            } catch (Exception e) {
+                logger.warn("Batch vocabulary request for {} users failed", batch.size(), e);
+                batch.forEach(request -> request.result().completeExceptionally(e));
+                return;
+            }
+
+            logger.debug("Batch vocabulary request covered {} of {} users", vocabularyByUser.size(), batch.size());
+            for (Pending request : batch) {
+                String vocabulary = vocabularyByUser.get(request.userId());
+                if (vocabulary != null) {
+                    request.result().complete(vocabulary);
+                } else {
+                    generateSingly(request, language);
+                }
+            }
+        });
+    }
+
+    private void generateSingly(Pending request, String language) {
+        try {
+            request.result().complete(
+                    geminiAPIService.generateVocabulary(request.userId(), request.recentMessages(), language));
+        } catch (Exception e) {
+            request.result().completeExceptionally(e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        lingerTimer.shutdownNow();
+        dispatcher.shutdown();
+    }
+}
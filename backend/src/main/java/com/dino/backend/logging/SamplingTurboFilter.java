@@ -0,0 +1,76 @@
+package com.dino.backend.logging;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Marker;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+
+/**
+ * Lets through one in every {@code rate} DEBUG and TRACE events of each
+ * configured logger (or its children) and drops the rest before a logging
+ * event is built. Events at INFO and above are never sampled.
+ *
+ * Every consultation counts: a plain {@code debug(...)} call, or the level
+ * check behind {@code atDebug()} (logback does not consult turbo filters again
+ * when the fluent event is logged). Guarding a plain call with
+ * {@code isDebugEnabled()} would count it twice, so sampled loggers should
+ * use one form or the other.
+ *
+ * Configured in logback-spring.xml:
+ * <pre>
+ * &lt;turboFilter class="com.dino.backend.logging.SamplingTurboFilter"&gt;
+ *     &lt;logger&gt;com.dino.backend.controller.AuthController&lt;/logger&gt;
+ *     &lt;rate&gt;100&lt;/rate&gt;
+ * &lt;/turboFilter&gt;
+ * </pre>
+ */
+public class SamplingTurboFilter extends TurboFilter {
+
+    private final List<String> loggers = new ArrayList<>();
+    private final ConcurrentMap<String, AtomicLong> counters = new ConcurrentHashMap<>();
+    private int rate = 100;
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        if (level == null || level.toInt() > Level.DEBUG_INT || !sampled(logger.getName())) {
+            return FilterReply.NEUTRAL;
+        }
+        long count = counters.computeIfAbsent(logger.getName(), name -> new AtomicLong()).getAndIncrement();
+        return count % rate == 0 ? FilterReply.NEUTRAL : FilterReply.DENY;
+    }
+
+    private boolean sampled(String name) {
+        for (String prefix : loggers) {
+            if (name.equals(prefix) || name.startsWith(prefix + ".")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Setters called by Joran for each configuration element
+    public void addLogger(String logger) {
+        loggers.add(logger.trim());
+    }
+
+    public void setRate(int rate) {
+        this.rate = rate;
+    }
+
+    @Override
+    public void start() {
+        if (rate < 1) {
+            addError("rate must be at least 1, was " + rate);
+            return;
+        }
+        super.start();
+    }
+}
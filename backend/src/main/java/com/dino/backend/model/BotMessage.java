@@ -1,13 +1,20 @@
 package com.dino.backend.model;
 
+import java.util.ArrayList;
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonTypeName;
 
+import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.DiscriminatorValue;
 import jakarta.persistence.Entity;
+import jakarta.persistence.OneToMany;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 @Entity
 @JsonTypeName("bot")
@@ -20,6 +27,13 @@ public class BotMessage extends Message {
     @Column(name = "corrected_content", nullable = true)
     private String correctedContent;
 
+    // Parsed from correctedContent when the turn is saved, and inserted with it
+    @OneToMany(mappedBy = "message", cascade = CascadeType.PERSIST)
+    @JsonIgnore
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private List<Correction> corrections = new ArrayList<>();
+
     public String generateCorrection(String input) {
         return "Corrected version of: " + input;
     }
@@ -13,13 +13,17 @@ import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.Table;
+import org.hibernate.annotations.DynamicUpdate;
+
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
 
 @Entity
 @Table(name = "dino_chat_session")
+@DynamicUpdate
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -49,6 +53,16 @@ public class ChatSession {
     @Column(name = "feedback_summary")
     private String feedbackSummary;
 
+    // Rolling summary of the turns that no longer go into the prompt verbatim
+    @JsonIgnore
+    @Column(name = "conversation_summary", columnDefinition = "TEXT")
+    private String conversationSummary;
+
+    // Number of leading messages already folded into conversationSummary
+    @JsonIgnore
+    @Column(name = "summarized_message_count", nullable = false)
+    private int summarizedMessageCount;
+
     
     @OneToMany(mappedBy = "chatSession", cascade = CascadeType.ALL, orphanRemoval = true)
     @JsonManagedReference
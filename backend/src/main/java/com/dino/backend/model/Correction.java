@@ -0,0 +1,84 @@
+package com.dino.backend.model;
+
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.Set;
+
+import org.hibernate.annotations.BatchSize;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import jakarta.persistence.CollectionTable;
+import jakarta.persistence.Column;
+import jakarta.persistence.ElementCollection;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+/**
+ * One grammar correction from Dino's feedback, parsed once when the bot
+ * message is saved so progress views can query by user and error category
+ * instead of re-reading the feedback text.
+ */
+@Entity
+@Table(name = "dino_correction")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class Correction {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "dino_correction_seq")
+    @SequenceGenerator(name = "dino_correction_seq", sequenceName = "dino_correction_seq", allocationSize = 50)
+    @Column(name = "correction_id")
+    private Long correctionId;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "message_id", nullable = false)
+    @JsonIgnore
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private BotMessage message;
+
+    // Copied from the session so per-user queries need no join through messages
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "original_text", nullable = false, columnDefinition = "TEXT")
+    private String originalText;
+
+    @Column(name = "corrected_text", nullable = false, columnDefinition = "TEXT")
+    private String correctedText;
+
+    @Column(name = "explanation", columnDefinition = "TEXT")
+    private String explanation;
+
+    @Column(name = "learning_language", nullable = false)
+    private String learningLanguage;
+
+    @Column(name = "native_language")
+    private String nativeLanguage;
+
+    @ElementCollection
+    @CollectionTable(name = "dino_correction_category", joinColumns = @JoinColumn(name = "correction_id"))
+    @Enumerated(EnumType.STRING)
+    @Column(name = "category", nullable = false, length = 30)
+    @BatchSize(size = 50)
+    private Set<ErrorCategory> categories = EnumSet.noneOf(ErrorCategory.class);
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
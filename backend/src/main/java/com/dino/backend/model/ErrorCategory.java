@@ -0,0 +1,53 @@
+package com.dino.backend.model;
+
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Kind of grammar error a correction addresses, inferred from the words
+ * Gemini uses in its explanation. A correction can fall into several.
+ */
+public enum ErrorCategory {
+    VERB_CONJUGATION("conjugat", "first-person", "second-person", "third-person",
+            "first person", "second person", "third person", "infinitive"),
+    TENSE("tense", "preterite", "imperfect", "subjunctive", "future", "past participle"),
+    AGREEMENT("agree", "gender", "feminine", "masculine", "neuter"),
+    ARTICLE("article"),
+    PREPOSITION("preposition", "contraction"),
+    GRAMMATICAL_CASE("dative", "accusative", "genitive", "nominative"),
+    PRONOUN("pronoun"),
+    WORD_ORDER("word order", "placement", "position of"),
+    SPELLING("spell", "accent", "typo", "capitaliz"),
+    VOCABULARY("word choice", "vocabulary", "wrong word"),
+    OTHER;
+
+    private final String[] keywords;
+
+    ErrorCategory(String... keywords) {
+        this.keywords = keywords;
+    }
+
+    /**
+     * @param explanation Gemini's explanation of the correction, may be null
+     * @return every category whose keywords occur in it, or OTHER if none do
+     */
+    public static Set<ErrorCategory> classify(String explanation) {
+        Set<ErrorCategory> categories = EnumSet.noneOf(ErrorCategory.class);
+        if (explanation != null) {
+            String text = explanation.toLowerCase(Locale.ROOT);
+            for (ErrorCategory category : values()) {
+                for (String keyword : category.keywords) {
+                    if (text.contains(keyword)) {
+                        categories.add(category);
+                        break;
+                    }
+                }
+            }
+        }
+        if (categories.isEmpty()) {
+            categories.add(OTHER);
+        }
+        return categories;
+    }
+}
@@ -2,6 +2,7 @@ package com.dino.backend.model;
 
 import java.time.LocalDateTime;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonSubTypes;
 import com.fasterxml.jackson.annotation.JsonTypeInfo;
 
@@ -16,6 +17,7 @@ import jakarta.persistence.Inheritance;
 import jakarta.persistence.InheritanceType;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -41,8 +43,11 @@ import com.fasterxml.jackson.annotation.JsonBackReference;
 })
 public class Message {
 
+    // Sequence rather than IDENTITY: inserts can be JDBC-batched, and
+    // MessageWriteBehind can hand out IDs before the row is written
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "dino_message_seq")
+    @SequenceGenerator(name = "dino_message_seq", sequenceName = "dino_message_seq", allocationSize = 50)
     @Column(name = "message_id")
     private Long messageId;
 
@@ -51,6 +56,11 @@ public class Message {
     @JsonBackReference
     private ChatSession chatSession;
 
+    // Copied from the session so a user's recent messages can be read from one index
+    @Column(name = "user_id", nullable = false)
+    @JsonIgnore
+    private Long userId;
+
     @Column(name = "content")
     private String content;
 
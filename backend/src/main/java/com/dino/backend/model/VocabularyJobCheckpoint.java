@@ -0,0 +1,54 @@
+package com.dino.backend.model;
+
+import java.sql.Date;
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Progress of the nightly vocabulary pre-generation run for one day. Users
+ * are processed in ID order, so a restarted run continues after lastUserId.
+ */
+@Entity
+@Table(name = "dino_vocabulary_job")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class VocabularyJobCheckpoint {
+
+    @Id
+    @Column(name = "run_date")
+    private Date runDate;
+
+    @Column(name = "last_user_id", nullable = false)
+    private long lastUserId;
+
+    @Column(name = "generated_count", nullable = false)
+    private int generatedCount;
+
+    @Column(name = "skipped_count", nullable = false)
+    private int skippedCount;
+
+    @Column(name = "failed_count", nullable = false)
+    private int failedCount;
+
+    @Column(name = "completed", nullable = false)
+    private boolean completed;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    // The instance running the job and until when; only written through
+    // VocabularyJobCheckpointRepository's lease queries, never by a save
+    @Column(name = "lease_owner", insertable = false, updatable = false)
+    private String leaseOwner;
+
+    @Column(name = "lease_until", insertable = false, updatable = false)
+    private LocalDateTime leaseUntil;
+}
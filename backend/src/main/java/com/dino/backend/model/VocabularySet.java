@@ -23,6 +23,11 @@ public class VocabularySet {
     @Column(name = "vocab_json", nullable = false, columnDefinition = "TEXT")
     private String vocabJson;
 
+    // Bumped on every update, so a cached copy can tell it was replaced
+    @Version
+    @Column(name = "version", nullable = false)
+    private long version;
+
     // Getters and setters
     public Long getId() {
         return id;
@@ -55,4 +60,12 @@ public class VocabularySet {
     public void setVocabJson(String vocabJson) {
         this.vocabJson = vocabJson;
     }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,148 @@
+package com.dino.backend.ratelimit;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.dino.backend.security.AuthenticatedUser;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Rejects requests to Gemini-backed endpoints with 429 and a Retry-After
+ * header once the caller's own token bucket, or the global one shared by all
+ * users, is empty. Runs after JwtRequestFilter so the user is known; requests
+ * without an authenticated user are passed on untouched for Spring Security
+ * to reject, and never count against either bucket.
+ *
+ * Admitting a request does not allocate: paths are matched in place against
+ * patterns split at startup, and buckets are lock-free.
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final byte[] USER_LIMIT_BODY =
+            "{\"message\":\"You're sending messages too quickly. Please slow down.\"}".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] GLOBAL_LIMIT_BODY =
+            "{\"message\":\"DinoAI is busy right now. Please try again in a moment.\"}".getBytes(StandardCharsets.UTF_8);
+
+    private final RateLimitProperties properties;
+    private final List<String[]> patterns;
+    private final TokenBucket globalBucket;
+    private final Cache<Long, TokenBucket> userBuckets;
+    private final Function<Long, TokenBucket> newUserBucket;
+    private final Counter userRejections;
+    private final Counter globalRejections;
+
+    public RateLimitFilter(RateLimitProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.patterns = properties.getPaths().stream()
+                .map(pattern -> pattern.substring(pattern.startsWith("/") ? 1 : 0).split("/"))
+                .toList();
+        this.globalBucket = new TokenBucket(properties.getGlobalRequestsPerSecond(), properties.getGlobalBurst());
+        this.userBuckets = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxTrackedUsers())
+                .expireAfterAccess(properties.getUserIdleTimeout())
+                .build();
+        this.newUserBucket = userId -> new TokenBucket(properties.getPerUserRequestsPerSecond(), properties.getPerUserBurst());
+        this.userRejections = Counter.builder("ratelimit.rejected").tag("scope", "user").register(meterRegistry);
+        this.globalRejections = Counter.builder("ratelimit.rejected").tag("scope", "global").register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!properties.isEnabled()) {
+            return true;
+        }
+        String path = request.getRequestURI();
+        for (String[] pattern : patterns) {
+            if (matches(pattern, path)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        // Spring Security refuses requests without a valid JWT further down the chain; they must
+        // not take tokens, or an anonymous flood would drain the global bucket for everyone
+        Long userId = AuthenticatedUser.currentUserId(SecurityContextHolder.getContext().getAuthentication());
+        if (userId == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        TokenBucket userBucket = userBuckets.get(userId, newUserBucket);
+        long userWaitNanos = userBucket.tryAcquireOrWaitTime();
+        if (userWaitNanos > 0) {
+            userRejections.increment();
+            reject(response, userWaitNanos, USER_LIMIT_BODY);
+            return;
+        }
+
+        long waitNanos = globalBucket.tryAcquireOrWaitTime();
+        if (waitNanos > 0) {
+            // The request never ran, so it must not count against the user's own limit
+            userBucket.refund();
+            globalRejections.increment();
+            reject(response, waitNanos, GLOBAL_LIMIT_BODY);
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    private static void reject(HttpServletResponse response, long waitNanos, byte[] body) throws IOException {
+        long retryAfterSeconds = Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    /**
+     * Matches a path against pattern segments without splitting the path.
+     */
+    static boolean matches(String[] pattern, String path) {
+        int position = path.startsWith("/") ? 1 : 0;
+        for (int i = 0; i < pattern.length; i++) {
+            String segment = pattern[i];
+            if (segment.equals("**") && i == pattern.length - 1) {
+                return true;
+            }
+            if (position > path.length()) {
+                return false;
+            }
+            int end = path.indexOf('/', position);
+            if (end < 0) {
+                end = path.length();
+            }
+            boolean segmentMatches = segment.equals("*")
+                    ? end > position
+                    : end - position == segment.length() && path.regionMatches(position, segment, 0, segment.length());
+            if (!segmentMatches) {
+                return false;
+            }
+            position = end + 1;
+        }
+        return position > path.length();
+    }
+}
@@ -0,0 +1,96 @@
+package com.dino.backend.ratelimit;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "app.rate-limit")
+public class RateLimitProperties {
+    private boolean enabled = true;
+
+    // Requests that reach Gemini; '*' matches one path segment, a trailing '**' the rest
+    private List<String> paths = List.of(
+            "/api/prompts/**",
+            "/api/sessions/*/turn",
+            "/api/vocabulary/daily/*/regenerate");
+
+    // Each authenticated user
+    private double perUserRequestsPerSecond = 0.5;
+    private int perUserBurst = 5;
+
+    // All users together; keep in line with the Gemini quota
+    private double globalRequestsPerSecond = 20;
+    private int globalBurst = 40;
+
+    // Buckets of users idle this long are dropped
+    private Duration userIdleTimeout = Duration.ofMinutes(10);
+    private long maxTrackedUsers = 100_000;
+
+    // Getters and setters
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public List<String> getPaths() {
+        return paths;
+    }
+
+    public void setPaths(List<String> paths) {
+        this.paths = paths;
+    }
+
+    public double getPerUserRequestsPerSecond() {
+        return perUserRequestsPerSecond;
+    }
+
+    public void setPerUserRequestsPerSecond(double perUserRequestsPerSecond) {
+        this.perUserRequestsPerSecond = perUserRequestsPerSecond;
+    }
+
+    public int getPerUserBurst() {
+        return perUserBurst;
+    }
+
+    public void setPerUserBurst(int perUserBurst) {
+        this.perUserBurst = perUserBurst;
+    }
+
+    public double getGlobalRequestsPerSecond() {
+        return globalRequestsPerSecond;
+    }
+
+    public void setGlobalRequestsPerSecond(double globalRequestsPerSecond) {
+        this.globalRequestsPerSecond = globalRequestsPerSecond;
+    }
+
+    public int getGlobalBurst() {
+        return globalBurst;
+    }
+
+    public void setGlobalBurst(int globalBurst) {
+        this.globalBurst = globalBurst;
+    }
+
+    public Duration getUserIdleTimeout() {
+        return userIdleTimeout;
+    }
+
+    public void setUserIdleTimeout(Duration userIdleTimeout) {
+        this.userIdleTimeout = userIdleTimeout;
+    }
+
+    public long getMaxTrackedUsers() {
+        return maxTrackedUsers;
+    }
+
+    public void setMaxTrackedUsers(long maxTrackedUsers) {
+        this.maxTrackedUsers = maxTrackedUsers;
+    }
+}
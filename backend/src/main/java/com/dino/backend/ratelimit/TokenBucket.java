@@ -0,0 +1,82 @@
+package com.dino.backend.ratelimit;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket: permits accrue at a fixed rate up to a burst
+ * capacity, and each acquisition consumes one.
+ *
+ * Implemented as the generic cell rate algorithm, so the whole state is a
+ * single "theoretical arrival time" updated by compare-and-set; checking a
+ * permit does not lock or allocate.
+ */
+public class TokenBucket {
+
+    private final long intervalNanos;
+    private final long burstNanos;
+    private final AtomicLong theoreticalArrival;
+
+    /**
+     * @param permitsPerSecond the sustained rate
+     * @param burst the most permits that can be taken at once after a quiet period
+     */
+    public TokenBucket(double permitsPerSecond, int burst) {
+        if (permitsPerSecond <= 0 || burst < 1) {
+            throw new IllegalArgumentException("Rate must be positive and burst at least 1");
+        }
+        this.intervalNanos = Math.max(1, (long) (Duration.ofSeconds(1).toNanos() / permitsPerSecond));
+        this.burstNanos = intervalNanos * burst;
+        this.theoreticalArrival = new AtomicLong(System.nanoTime());
+    }
+
+    /**
+     * Takes a permit if one is available right now.
+     *
+     * @return true if a permit was taken
+     */
+    public boolean tryAcquire() {
+        return tryAcquireOrWaitTime() == 0;
+    }
+
+    /**
+     * Takes a permit if one is available right now.
+     *
+     * @return 0 if a permit was taken, otherwise the nanoseconds until one will be available
+     */
+    public long tryAcquireOrWaitTime() {
+        while (true) {
+            long now = System.nanoTime();
+            long current = theoreticalArrival.get();
+            long next = Math.max(current, now) + intervalNanos;
+            long excess = next - now - burstNanos;
+            if (excess > 0) {
+                return excess;
+            }
+            if (theoreticalArrival.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Gives back a permit that was taken but not used, e.g. because another
+     * limit refused the request it was taken for.
+     */
+    public void refund() {
+        theoreticalArrival.addAndGet(-intervalNanos);
+    }
+
+    /**
+     * Takes a permit, waiting for one to accrue if necessary. Waiters are not
+     * queued fairly.
+     *
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public void acquire() throws InterruptedException {
+        long waitNanos;
+        while ((waitNanos = tryAcquireOrWaitTime()) > 0) {
+            Thread.sleep(Duration.ofNanos(waitNanos));
+        }
+    }
+}
@@ -2,11 +2,50 @@ package com.dino.backend.repository;
 
 import java.util.List;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.dino.backend.dto.SessionSummary;
 import com.dino.backend.model.ChatSession;
-import com.dino.backend.model.User;
 
 public interface ChatSessionRepository extends JpaRepository<ChatSession, Long> {
-    List<ChatSession> findByUser(User user);
+
+    /**
+     * Lists a user's sessions as summaries, newest first, using the session ID
+     * as a keyset cursor. Message count and preview come from correlated
+     * subqueries, so no messages are loaded.
+     *
+     * @param userId the ID of the user
+     * @param before only sessions with a smaller ID are returned
+     * @param previewLength the maximum length of the last message preview
+     * @param pageable limits how many sessions are returned
+     * @return the matching sessions, ordered by ID descending
+     */
+    @Query("SELECT new com.dino.backend.dto.SessionSummary(s.sessionId, s.sessionTopic, s.languageUsed, "
+            + "s.startTime, s.endTime, "
+            + "(SELECT COUNT(m) FROM Message m WHERE m.chatSession = s), "
+            + "(SELECT SUBSTRING(l.content, 1, :previewLength) FROM Message l WHERE l.messageId = "
+            + "(SELECT MAX(lm.messageId) FROM Message lm WHERE lm.chatSession = s))) "
+            + "FROM ChatSession s WHERE s.user.userId = :userId AND s.sessionId < :before "
+            + "ORDER BY s.sessionId DESC")
+    List<SessionSummary> findSummariesByUserId(Long userId, Long before, int previewLength, Pageable pageable);
+
+    /**
+     * Advances the rolling conversation summary, but only if no other update
+     * has moved it since the summarised range was read
+     *
+     * @param sessionId the ID of the chat session
+     * @param summary the new summary text
+     * @param fromCount the summarized message count the summary was built on
+     * @param toCount the summarized message count after this update
+     * @return the number of rows updated, 0 if the summary had already moved
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE ChatSession s SET s.conversationSummary = :summary, s.summarizedMessageCount = :toCount "
+            + "WHERE s.sessionId = :sessionId AND s.summarizedMessageCount = :fromCount")
+    int advanceSummary(Long sessionId, String summary, int fromCount, int toCount);
 }
\ No newline at end of file
@@ -0,0 +1,59 @@
+package com.dino.backend.repository;
+
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import com.dino.backend.dto.CategoryCount;
+import com.dino.backend.model.Correction;
+import com.dino.backend.model.ErrorCategory;
+
+@Repository
+public interface CorrectionRepository extends JpaRepository<Correction, Long> {
+
+    /**
+     * Counts a user's corrections per error category, most frequent first
+     *
+     * @param userId the ID of the user
+     * @return one row per category the user has been corrected on
+     */
+    @Query("SELECT new com.dino.backend.dto.CategoryCount(cat, COUNT(c)) "
+            + "FROM Correction c JOIN c.categories cat WHERE c.userId = :userId "
+            + "GROUP BY cat ORDER BY COUNT(c) DESC")
+    List<CategoryCount> countByCategoryForUser(Long userId);
+
+    /**
+     * Finds a user's most recent corrections
+     *
+     * @param userId the ID of the user
+     * @param pageable limits how many corrections are returned
+     * @return the corrections, newest first
+     */
+    List<Correction> findByUserIdOrderByCorrectionIdDesc(Long userId, Pageable pageable);
+
+    /**
+     * Finds a user's most recent corrections in one error category
+     *
+     * @param userId the ID of the user
+     * @param category the error category
+     * @param pageable limits how many corrections are returned
+     * @return the corrections, newest first
+     */
+    @Query("SELECT c FROM Correction c JOIN c.categories cat "
+            + "WHERE c.userId = :userId AND cat = :category ORDER BY c.correctionId DESC")
+    List<Correction> findRecentByUserIdAndCategory(Long userId, ErrorCategory category, Pageable pageable);
+
+    /**
+     * Deletes the corrections of a chat session's messages, before the messages themselves
+     *
+     * @param sessionId the ID of the chat session
+     */
+    @Modifying
+    @Query("DELETE FROM Correction c WHERE c.message.messageId IN "
+            + "(SELECT m.messageId FROM Message m WHERE m.chatSession.sessionId = :sessionId)")
+    void deleteByChatSessionId(Long sessionId);
+}
@@ -1,7 +1,9 @@
 package com.dino.backend.repository;
 
+import com.dino.backend.dto.ConversationTurn;
 import com.dino.backend.model.ChatSession;
 import com.dino.backend.model.Message;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -21,13 +23,35 @@ public interface MessageRepository extends JpaRepository<Message, Long> {
     List<Message> findByChatSession(ChatSession chatSession);
 
     /**
-     * Finds messages for a user across all their chat sessions, ordered by ID descending
+     * Finds the content of a user's most recent non-blank messages across all their chat sessions
      *
      * @param userId the ID of the user
-     * @return a list of messages for the user
+     * @param pageable limits how many messages are returned
+     * @return the message contents, ordered by ID descending
      */
-    @Query("SELECT m FROM Message m WHERE m.chatSession.user.userId = :userId ORDER BY m.messageId DESC")
-    List<Message> findBySessionUserId(Long userId);
+    @Query("SELECT m.content FROM Message m WHERE m.userId = :userId "
+            + "AND m.content IS NOT NULL AND TRIM(m.content) <> '' ORDER BY m.messageId DESC")
+    List<String> findRecentContentByUserId(Long userId, Pageable pageable);
+
+    /**
+     * Finds the most recent messages of a chat session as lightweight turns, newest first
+     *
+     * @param sessionId the ID of the chat session
+     * @param pageable limits how many messages are returned
+     * @return the latest turns of the session, ordered by ID descending
+     */
+    @Query("SELECT new com.dino.backend.dto.ConversationTurn(m.messageId, "
+            + "CASE WHEN TYPE(m) = BotMessage THEN 'bot' ELSE 'user' END, m.content) "
+            + "FROM Message m WHERE m.chatSession.sessionId = :sessionId ORDER BY m.messageId DESC")
+    List<ConversationTurn> findRecentTurnsBySessionId(Long sessionId, Pageable pageable);
+
+    /**
+     * Counts the messages of a chat session
+     *
+     * @param sessionId the ID of the chat session
+     * @return the number of messages in the session
+     */
+    long countByChatSessionSessionId(Long sessionId);
 
     /**
      * Deletes all messages associated with a specific chat session
@@ -1,9 +1,13 @@
 package com.dino.backend.repository;
 
 import com.dino.backend.model.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -43,4 +47,18 @@ public interface UserRepository extends JpaRepository<User, Long> {
      * @return true if a user with the email exists, false otherwise
      */
     boolean existsByEmail(String email);
-}
\ No newline at end of file
+
+    /**
+     * Finds the IDs of users who logged in or started a chat session since the
+     * given time, in ascending order after a keyset cursor
+     *
+     * @param since the start of the activity window
+     * @param afterUserId only users with a greater ID are returned
+     * @param pageable limits how many IDs are returned
+     * @return the matching user IDs, ordered ascending
+     */
+    @Query("SELECT u.userId FROM User u WHERE u.userId > :afterUserId AND (u.lastLogin >= :since "
+            + "OR EXISTS (SELECT s FROM ChatSession s WHERE s.user = u AND s.startTime >= :since)) "
+            + "ORDER BY u.userId")
+    List<Long> findActiveUserIds(LocalDateTime since, long afterUserId, Pageable pageable);
+}
@@ -0,0 +1,46 @@
+package com.dino.backend.repository;
+
+import java.sql.Date;
+import java.time.LocalDateTime;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.dino.backend.model.VocabularyJobCheckpoint;
+
+@Repository
+public interface VocabularyJobCheckpointRepository extends JpaRepository<VocabularyJobCheckpoint, Date> {
+
+    /**
+     * Takes the day's lease if it is free, has lapsed or is already held by the owner.
+     * The row must exist.
+     *
+     * @return 1 if the owner now holds the lease, 0 otherwise
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE dino_vocabulary_job SET lease_owner = :owner, lease_until = :until "
+            + "WHERE run_date = :runDate AND completed = FALSE "
+            + "AND (lease_until IS NULL OR lease_until < :now OR lease_owner = :owner)", nativeQuery = true)
+    int acquireLease(Date runDate, String owner, LocalDateTime now, LocalDateTime until);
+
+    /**
+     * Extends a lease the owner still holds.
+     *
+     * @return 1 if extended, 0 if the lease was lost to another instance
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE dino_vocabulary_job SET lease_until = :until "
+            + "WHERE run_date = :runDate AND lease_owner = :owner", nativeQuery = true)
+    int renewLease(Date runDate, String owner, LocalDateTime until);
+
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE dino_vocabulary_job SET lease_owner = NULL, lease_until = NULL "
+            + "WHERE run_date = :runDate AND lease_owner = :owner", nativeQuery = true)
+    int releaseLease(Date runDate, String owner);
+}
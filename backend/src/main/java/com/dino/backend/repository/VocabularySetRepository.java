@@ -2,6 +2,7 @@ package com.dino.backend.repository;
 
 import com.dino.backend.model.VocabularySet;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.sql.Date;
@@ -10,4 +11,7 @@ import java.util.Optional;
 @Repository
 public interface VocabularySetRepository extends JpaRepository<VocabularySet, Long> {
     Optional<VocabularySet> findByUserIdAndDate(Long userId, Date date);
+
+    @Query("SELECT v.version FROM VocabularySet v WHERE v.userId = :userId AND v.date = :date")
+    Optional<Long> findVersionByUserIdAndDate(Long userId, Date date);
 }
\ No newline at end of file
@@ -0,0 +1,44 @@
+package com.dino.backend.security;
+
+import org.springframework.security.core.AuthenticatedPrincipal;
+import org.springframework.security.core.Authentication;
+
+/**
+ * Principal placed in the security context by JwtRequestFilter. Carries the
+ * user ID from the token so handlers can authorize without looking the user up.
+ */
+public final class AuthenticatedUser implements AuthenticatedPrincipal {
+
+    private final Long userId;
+    private final String username;
+
+    public AuthenticatedUser(Long userId, String username) {
+        this.userId = userId;
+        this.username = username;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    @Override
+    public String getName() {
+        return username;
+    }
+
+    /**
+     * @param authentication the current authentication, may be null
+     * @return the authenticated user's ID, or null if the request was not authenticated by a JWT
+     */
+    public static Long currentUserId(Authentication authentication) {
+        if (authentication != null && authentication.getPrincipal() instanceof AuthenticatedUser user) {
+            return user.getUserId();
+        }
+        return null;
+    }
+
+    @Override
+    public String toString() {
+        return username;
+    }
+}
@@ -1,16 +1,27 @@
 package com.dino.backend.security;
 
 import java.io.IOException;
+import java.util.List;
+import java.util.Optional;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
+import com.dino.backend.model.User;
+import com.dino.backend.service.UserCache;
+
+import io.jsonwebtoken.Claims;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -19,12 +30,20 @@ import jakarta.servlet.http.HttpServletResponse;
 @Component
 public class JwtRequestFilter extends OncePerRequestFilter {
 
+    // The inherited logger is commons-logging; this one supports key-value pairs
+    private static final Logger requestLogger = LoggerFactory.getLogger(JwtRequestFilter.class);
+
+    private static final List<GrantedAuthority> USER_AUTHORITIES = List.of(new SimpleGrantedAuthority("ROLE_USER"));
+
     @Autowired
-    private UserDetailsService userDetailsService;
+    private UserCache userCache;
 
     @Autowired
     private JwtUtil jwtUtil;
 
+    @Autowired
+    private ObservationRegistry observationRegistry;
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
@@ -34,23 +53,33 @@ public class JwtRequestFilter extends OncePerRequestFilter {
     
             String username = null;
             String jwt = null;
+            Claims claims = null;
     
             if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")) {
                 jwt = authorizationHeader.substring(7);
                 try {
-                    username = jwtUtil.extractUsername(jwt);
+                    // Verifies signature and expiry once; everything below reads from these claims
+                    claims = jwtUtil.extractAllClaims(jwt);
+                    username = claims.getSubject();
                 } catch (Exception e) {
                     logger.error("JWT token validation failed", e);
                 }
             }
     
-            if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+            if (claims != null && SecurityContextHolder.getContext().getAuthentication() == null) {
                 try {
-                    UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
-                    
-                    if (jwtUtil.validateToken(jwt, userDetails)) {
+                    Long userId = jwtUtil.extractUserId(claims);
+                    String lookupUsername = username;
+                    Optional<User> user = Observation.createNotStarted("auth.user.lookup", observationRegistry)
+                            .lowCardinalityKeyValue("by", userId != null ? "id" : "username")
+                            .observe(() -> userId != null
+                                    ? userCache.get(userId)
+                                    : userCache.getByUsername(lookupUsername));
+
+                    if (user.isPresent()) {
+                        AuthenticatedUser principal = new AuthenticatedUser(user.get().getUserId(), user.get().getUsername());
                         UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                                userDetails, null, userDetails.getAuthorities());
+                                principal, null, USER_AUTHORITIES);
                         authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                         SecurityContextHolder.getContext().setAuthentication(authToken);
                     }
@@ -59,10 +88,14 @@ public class JwtRequestFilter extends OncePerRequestFilter {
                 }
             }
 
-            System.out.println("JWT: " + jwt);
-            System.out.println("Extracted username: " + username);
-            System.out.println("Is authenticated: " + (SecurityContextHolder.getContext().getAuthentication() != null));
-            
+            // One line per request at most, never the token itself; atDebug() is where
+            // logback-spring.xml samples it, and is a no-op when the line is dropped
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            requestLogger.atDebug()
+                    .addKeyValue("bearer", jwt != null)
+                    .addKeyValue("authenticated", authentication != null)
+                    .addKeyValue("userId", AuthenticatedUser.currentUserId(authentication))
+                    .log("JWT authentication");
         } catch (Exception e) {
             logger.error("Exception during authentication filter", e);
         }
@@ -5,6 +5,10 @@ import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
+import org.springframework.boot.actuate.endpoint.web.WebServerNamespace;
+import org.springframework.boot.actuate.health.HealthEndpoint;
+import org.springframework.boot.actuate.metrics.export.prometheus.PrometheusScrapeEndpoint;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -26,8 +30,11 @@ import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
 import com.dino.backend.config.CorsProperties;
 import com.dino.backend.model.User;
+import com.dino.backend.ratelimit.RateLimitFilter;
 import com.dino.backend.repository.UserRepository;
 
+import jakarta.servlet.DispatcherType;
+
 @Configuration
 @EnableWebSecurity
 public class SecurityConfig {
@@ -39,6 +46,9 @@ public class SecurityConfig {
     
     @Autowired
     private JwtRequestFilter jwtRequestFilter;
+
+    @Autowired
+    private RateLimitFilter rateLimitFilter;
     
     @Autowired
     private CorsProperties corsProperties;
@@ -55,8 +65,14 @@ public class SecurityConfig {
             
             // Configure request authorization with the lambda
             .authorizeHttpRequests(auth -> auth
+                // Async re-dispatches (SSE completion) were already authorized on the original request
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                 .requestMatchers("/api/test", "/auth/signup", "/auth/login").permitAll()
-                .requestMatchers("/api/sessions/**", "/api/messages/**", "/api/prompts/**").authenticated()
+                // Liveness and readiness on the application port
+                .requestMatchers(EndpointRequest.toAdditionalPaths(WebServerNamespace.SERVER, HealthEndpoint.class)).permitAll()
+                // Health and the Prometheus scrape, matched only on the separate management port
+                .requestMatchers(EndpointRequest.to(HealthEndpoint.class, PrometheusScrapeEndpoint.class)).permitAll()
+                .requestMatchers("/api/sessions/**", "/api/messages/**", "/api/prompts/**", "/api/corrections/**").authenticated()
                 .anyRequest().authenticated()
             )
             
@@ -68,6 +84,9 @@ public class SecurityConfig {
         // Add JWT filter
         logger.debug("Adding JwtRequestFilter before UsernamePasswordAuthenticationFilter");
         http.addFilterBefore(jwtRequestFilter, UsernamePasswordAuthenticationFilter.class);
+
+        // Rate limit Gemini-backed endpoints once the user is known
+        http.addFilterAfter(rateLimitFilter, JwtRequestFilter.class);
             
         return http.build();
     }
@@ -0,0 +1,169 @@
+package com.dino.backend.service;
+
+import com.dino.backend.dto.ChatReply;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Parses the {"conversation": ..., "feedback": ...} object that the system prompt
+ * asks Gemini to produce.
+ */
+public final class ChatReplyParser {
+
+    private static final Logger logger = LoggerFactory.getLogger(ChatReplyParser.class);
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private ChatReplyParser() {
+    }
+
+    /**
+     * Extracts the generated text from a raw generateContent response body.
+     *
+     * @param responseBody the JSON returned by Gemini
+     * @return the text of the first candidate, or an empty string if there is none
+     */
+    public static String modelText(String responseBody) {
+        try {
+            return MAPPER.readTree(responseBody)
+                    .path("candidates").path(0).path("content").path("parts").path(0).path("text").asText("");
+        } catch (Exception e) {
+            logger.warn("Could not read Gemini response body");
+            return "";
+        }
+    }
+
+    /**
+     * Parses the model text into a reply. Markdown fences and any text around the
+     * JSON object are ignored; if no object can be read the whole text is treated
+     * as conversation with empty feedback.
+     *
+     * @param modelText the text generated by Gemini
+     * @return the parsed reply, never null
+     */
+    public static ChatReply parse(String modelText) {
+        if (modelText == null || modelText.isBlank()) {
+            return new ChatReply("", "");
+        }
+
+        int start = modelText.indexOf('{');
+        int end = modelText.lastIndexOf('}');
+        if (start >= 0 && end > start) {
+            try {
+                JsonNode root = MAPPER.readTree(modelText.substring(start, end + 1));
+                return new ChatReply(root.path("conversation").asText(""), root.path("feedback").asText(""));
+            } catch (Exception e) {
+                logger.warn("Gemini reply was not valid JSON, falling back to raw text");
+            }
+        }
+        return new ChatReply(modelText.trim(), "");
+    }
+
+    /**
+     * Extracts the "conversation" string value incrementally while the reply is
+     * still being streamed, so it can be forwarded before the feedback exists.
+     * Not thread-safe; use one instance per stream.
+     */
+    public static class ConversationStream {
+
+        private static final String KEY = "\"conversation\"";
+
+        private final StringBuilder raw = new StringBuilder();
+        private int position;
+        private boolean inValue;
+        private boolean finished;
+
+        /**
+         * Appends the next chunk of model text.
+         *
+         * @param chunk the text fragment received from Gemini
+         * @return the newly decoded part of the conversation value, possibly empty
+         */
+        public String accept(String chunk) {
+            raw.append(chunk);
+            if (finished) {
+                return "";
+            }
+            if (!inValue && !seekValueStart()) {
+                return "";
+            }
+            return decodeAvailable();
+        }
+
+        private boolean seekValueStart() {
+            int keyIndex = raw.indexOf(KEY, position);
+            if (keyIndex < 0) {
+                return false;
+            }
+            int i = keyIndex + KEY.length();
+            while (i < raw.length() && Character.isWhitespace(raw.charAt(i))) {
+                i++;
+            }
+            if (i >= raw.length()) {
+                return false;
+            }
+            if (raw.charAt(i) != ':') {
+                // Not the key we are after (e.g. the word inside another value); keep looking
+                position = keyIndex + 1;
+                return seekValueStart();
+            }
+            i++;
+            while (i < raw.length() && Character.isWhitespace(raw.charAt(i))) {
+                i++;
+            }
+            if (i >= raw.length()) {
+                return false;
+            }
+            if (raw.charAt(i) != '"') {
+                finished = true;
+                return false;
+            }
+            position = i + 1;
+            inValue = true;
+            return true;
+        }
+
+        private String decodeAvailable() {
+            StringBuilder decoded = new StringBuilder();
+            while (position < raw.length()) {
+                char c = raw.charAt(position);
+                if (c == '"') {
+                    finished = true;
+                    position++;
+                    break;
+                }
+                if (c != '\\') {
+                    decoded.append(c);
+                    position++;
+                    continue;
+                }
+                // Escape sequences may be split across chunks; wait for the rest
+                if (position + 1 >= raw.length()) {
+                    break;
+                }
+                char escaped = raw.charAt(position + 1);
+                if (escaped == 'u') {
+                    if (position + 6 > raw.length()) {
+                        break;
+                    }
+                    decoded.append((char) Integer.parseInt(raw.substring(position + 2, position + 6), 16));
+                    position += 6;
+                    continue;
+                }
+                switch (escaped) {
+                    case 'n' -> decoded.append('\n');
+                    case 't' -> decoded.append('\t');
+                    case 'r' -> decoded.append('\r');
+                    case 'b' -> decoded.append('\b');
+                    case 'f' -> decoded.append('\f');
+                    default -> decoded.append(escaped);
+                }
+                position += 2;
+            }
+            return decoded.toString();
+        }
+    }
+}
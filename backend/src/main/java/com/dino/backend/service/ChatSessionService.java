@@ -1,11 +1,15 @@
 package com.dino.backend.service;
 
+import com.dino.backend.dto.SessionPage;
+import com.dino.backend.dto.SessionSummary;
 import com.dino.backend.model.ChatSession;
 import com.dino.backend.model.User;
 import com.dino.backend.repository.ChatSessionRepository;
+import com.dino.backend.repository.CorrectionRepository;
 import com.dino.backend.repository.MessageRepository;
 import com.dino.backend.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -16,6 +20,8 @@ import java.util.Optional;
 @Service
 public class ChatSessionService {
 
+    private static final int PREVIEW_LENGTH = 100;
+
     @Autowired
     private ChatSessionRepository chatSessionRepository;
 
@@ -25,6 +31,12 @@ public class ChatSessionService {
     @Autowired
     private MessageRepository messageRepository;
 
+    @Autowired
+    private CorrectionRepository correctionRepository;
+
+    @Autowired
+    private ConversationHistoryCache conversationHistoryCache;
+
     public ChatSession startSession(Long userId, String languageUsed, String sessionTopic) {
         Optional<User> userOpt = userRepository.findById(userId);
         if (userOpt.isEmpty()) {
@@ -62,9 +74,24 @@ public class ChatSessionService {
         return chatSessionRepository.findById(sessionId).orElse(null);
     }
 
-    public List<ChatSession> getSessionsByUserId(Long userId) {
-        Optional<User> userOpt = userRepository.findById(userId);
-        return userOpt.map(chatSessionRepository::findByUser).orElse(null);
+    /**
+     * Lists a user's sessions, newest first, one page at a time.
+     *
+     * @param userId the ID of the user
+     * @param before the cursor returned with the previous page, or null for the first page
+     * @param limit the page size
+     * @return the page and the cursor of the next one
+     */
+    public SessionPage getSessionSummaries(Long userId, Long before, int limit) {
+        // Fetch one extra row to know whether another page follows
+        List<SessionSummary> items = chatSessionRepository.findSummariesByUserId(
+                userId, before != null ? before : Long.MAX_VALUE, PREVIEW_LENGTH, PageRequest.of(0, limit + 1));
+        Long nextCursor = null;
+        if (items.size() > limit) {
+            items = items.subList(0, limit);
+            nextCursor = items.get(limit - 1).getSessionId();
+        }
+        return new SessionPage(items, nextCursor);
     }
 
     @Transactional
@@ -74,10 +101,14 @@ public class ChatSessionService {
             throw new RuntimeException("Session not found");
         }
         
+        // Corrections reference the messages, so they go first
+        correctionRepository.deleteByChatSessionId(sessionId);
+
         // Delete associated messages using the correct method
         messageRepository.deleteByChatSessionId(sessionId);
         
         // Delete the session
         chatSessionRepository.deleteById(sessionId);
+        conversationHistoryCache.evict(sessionId);
     }
 }
\ No newline at end of file
@@ -0,0 +1,59 @@
+package com.dino.backend.service;
+
+import java.util.List;
+
+import org.springframework.stereotype.Service;
+
+import com.dino.backend.dto.ChatReply;
+import com.dino.backend.dto.ChatTurnRequest;
+import com.dino.backend.dto.ChatTurnResponse;
+import com.dino.backend.dto.PromptRequest;
+import com.dino.backend.model.ChatSession;
+import com.dino.backend.model.Correction;
+import com.dino.backend.model.Message;
+
+/**
+ * Handles one complete chat turn: generate Dino's reply from the server-side
+ * history, parse it, and persist the user and bot messages together with the
+ * corrections from its feedback.
+ */
+@Service
+public class ChatTurnService {
+
+    private final GeminiService geminiService;
+    private final MessageService messageService;
+    private final CorrectionService correctionService;
+
+    public ChatTurnService(GeminiService geminiService, MessageService messageService,
+                           CorrectionService correctionService) {
+        this.geminiService = geminiService;
+        this.messageService = messageService;
+        this.correctionService = correctionService;
+    }
+
+    public ChatTurnResponse takeTurn(ChatSession session, ChatTurnRequest request) {
+        PromptRequest prompt = new PromptRequest();
+        prompt.setSessionId(session.getSessionId());
+        prompt.setUserId(session.getUser().getUserId());
+        prompt.setLanguageUsed(request.getLanguageUsed() != null ? request.getLanguageUsed() : session.getLanguageUsed());
+        prompt.setSessionTopic(session.getSessionTopic());
+        prompt.setMessage(request.getMessage());
+
+        // The Gemini call happens outside the transaction; only the inserts are transactional
+        ChatReply reply = geminiService.getChatReply(prompt);
+        List<Correction> corrections = correctionService.fromFeedback(
+                session, prompt.getLanguageUsed(), reply.getFeedback());
+        List<Message> saved = messageService.saveTurn(session, request.getMessage(), reply, corrections);
+
+        Message userMessage = saved.get(0);
+        Message botMessage = saved.get(1);
+        return new ChatTurnResponse(
+                session.getSessionId(),
+                userMessage.getMessageId(),
+                botMessage.getMessageId(),
+                reply.getConversation(),
+                reply.getFeedback(),
+                corrections,
+                botMessage.getTimestamp());
+    }
+}
@@ -0,0 +1,134 @@
+package com.dino.backend.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import com.dino.backend.config.ConversationWindowProperties;
+import com.dino.backend.dto.ConversationTurn;
+import com.dino.backend.repository.MessageRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * Keeps the most recent messages of active chat sessions in memory, so a chat
+ * turn can rebuild its prompt without the client re-sending the whole history.
+ * Each session has a fixed-size ring buffer; a session that is not cached is
+ * loaded from the database with a single LIMIT query on first use. Messages are
+ * appended as they are saved.
+ */
+@Service
+public class ConversationHistoryCache {
+
+    private final MessageRepository messageRepository;
+    private final MessageWriteBehind messageWriteBehind;
+    private final int bufferSize;
+    private final Cache<Long, SessionHistory> sessions;
+
+    public ConversationHistoryCache(MessageRepository messageRepository, MessageWriteBehind messageWriteBehind,
+                                    ConversationWindowProperties properties) {
+        this.messageRepository = messageRepository;
+        this.messageWriteBehind = messageWriteBehind;
+        this.bufferSize = properties.getHistoryBufferSize();
+        this.sessions = Caffeine.newBuilder()
+                .maximumSize(properties.getHistoryCacheSessions())
+                .expireAfterAccess(Duration.ofHours(2))
+                .build();
+    }
+
+    /**
+     * Returns the recent history of a session, loading it on a cache miss.
+     *
+     * @param sessionId the ID of the chat session
+     * @return the buffered turns, oldest first, and the absolute index of the first one
+     */
+    public Snapshot get(Long sessionId) {
+        return sessions.get(sessionId, this::load).snapshot();
+    }
+
+    /**
+     * Records a newly saved message. Sessions that are not cached are left
+     * alone; they will be loaded from the database when next needed.
+     *
+     * @param sessionId the ID of the chat session
+     * @param turn the saved message
+     */
+    public void append(Long sessionId, ConversationTurn turn) {
+        SessionHistory history = sessions.getIfPresent(sessionId);
+        if (history != null) {
+            history.append(turn);
+        }
+    }
+
+    public void evict(Long sessionId) {
+        sessions.invalidate(sessionId);
+    }
+
+    private SessionHistory load(Long sessionId) {
+        // Appends to uncached sessions are dropped, so queued messages must be in the database first
+        messageWriteBehind.flush();
+        List<ConversationTurn> newestFirst =
+                messageRepository.findRecentTurnsBySessionId(sessionId, PageRequest.of(0, bufferSize));
+        long total = newestFirst.size() < bufferSize
+                ? newestFirst.size()
+                : messageRepository.countByChatSessionSessionId(sessionId);
+
+        SessionHistory history = new SessionHistory(bufferSize, total - newestFirst.size());
+        for (int i = newestFirst.size() - 1; i >= 0; i--) {
+            history.append(newestFirst.get(i));
+        }
+        return history;
+    }
+
+    /**
+     * @param turns  the buffered turns, oldest first
+     * @param offset the position of the first buffered turn within the whole session
+     */
+    public record Snapshot(List<ConversationTurn> turns, int offset) {
+
+        public int total() {
+            return offset + turns.size();
+        }
+    }
+
+    private static final class SessionHistory {
+
+        private final ConversationTurn[] ring;
+        private long total;
+        private int size;
+        private long lastMessageId = Long.MIN_VALUE;
+
+        SessionHistory(int capacity, long offset) {
+            this.ring = new ConversationTurn[capacity];
+            this.total = offset;
+        }
+
+        synchronized void append(ConversationTurn turn) {
+            // A save racing with the initial load may already be part of it
+            if (turn.messageId() != null) {
+                if (turn.messageId() <= lastMessageId) {
+                    return;
+                }
+                lastMessageId = turn.messageId();
+            }
+            ring[(int) (total % ring.length)] = turn;
+            total++;
+            size = Math.min(size + 1, ring.length);
+        }
+
+        synchronized Snapshot snapshot() {
+            if (size == 0) {
+                return new Snapshot(Collections.emptyList(), (int) total);
+            }
+            List<ConversationTurn> turns = new ArrayList<>(size);
+            for (long i = total - size; i < total; i++) {
+                turns.add(ring[(int) (i % ring.length)]);
+            }
+            return new Snapshot(turns, (int) (total - size));
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.dino.backend.service;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import com.dino.backend.config.ConversationWindowProperties;
+import com.dino.backend.dto.ConversationTurn;
+import com.dino.backend.exception.GeminiCapacityExceededException;
+import com.dino.backend.integration.gemini.GeminiAPI;
+import com.dino.backend.integration.gemini.GeminiCallGate;
+import com.dino.backend.model.ChatSession;
+import com.dino.backend.repository.ChatSessionRepository;
+
+/**
+ * Decides which part of a conversation goes into the prompt.
+ *
+ * The unsummarised tail of the session is sent verbatim, newest first until the
+ * token budget is used up; everything before it is represented by the rolling
+ * summary stored on the ChatSession. Once more than summaryBatchSize messages
+ * have fallen out of the verbatim window they are folded into the summary in
+ * the background, so the summary is ready for a later turn and never delays
+ * the current one. If the token budget cuts the window short, the turns it
+ * dropped are folded right away, so none is left out of both the summary and
+ * the verbatim tail.
+ */
+@Service
+public class ConversationWindowService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ConversationWindowService.class);
+
+    private static final String SUMMARY_PROMPT = "summary_prompt";
+
+    private final ChatSessionRepository chatSessionRepository;
+    private final GeminiAPI geminiAPI;
+    private final GeminiCallGate geminiCallGate;
+    private final PromptRegistry promptRegistry;
+    private final ConversationWindowProperties properties;
+
+    // Sessions with a summarisation already in flight
+    private final Set<Long> summarizing = ConcurrentHashMap.newKeySet();
+
+    public ConversationWindowService(ChatSessionRepository chatSessionRepository,
+                                     GeminiAPI geminiAPI,
+                                     GeminiCallGate geminiCallGate,
+                                     PromptRegistry promptRegistry,
+                                     ConversationWindowProperties properties) {
+        this.chatSessionRepository = chatSessionRepository;
+        this.geminiAPI = geminiAPI;
+        this.geminiCallGate = geminiCallGate;
+        this.promptRegistry = promptRegistry;
+        this.properties = properties;
+    }
+
+    /**
+     * Builds the conversation history section of the prompt.
+     *
+     * @param session the chat session, or null for a conversation that is not persisted
+     * @param turns   the known messages of the conversation, oldest first, ending with the new one
+     * @param offset  the position of the first element of turns within the whole session
+     * @param foldIntoSummary whether turns that left the window may be folded into the
+     *                        stored summary; only for the server-side history, never for
+     *                        turns the client supplied
+     * @return the summary (if any) followed by the verbatim turns that fit the budget
+     */
+    public String buildHistory(ChatSession session, List<ConversationTurn> turns, int offset,
+                               boolean foldIntoSummary) {
+        int total = offset + turns.size();
+        int summarized = session != null ? Math.min(session.getSummarizedMessageCount(), total) : 0;
+        String summary = session != null ? session.getConversationSummary() : null;
+
+        StringBuilder history = new StringBuilder();
+        int remaining = properties.getTokenBudget();
+        if (summary != null && !summary.isBlank()) {
+            history.append("Summary of the earlier conversation: ").append(summary.trim()).append("\n\n");
+            remaining -= TokenEstimator.estimate(history);
+        }
+
+        // Walk back from the newest message; the latest one is always included
+        int windowStart = Math.max(Math.max(summarized, offset),
+                total - properties.getVerbatimMessages() - properties.getSummaryBatchSize());
+        Deque<String> lines = new ArrayDeque<>();
+        int firstVerbatim = total;
+        for (int i = total - 1; i >= windowStart; i--) {
+            String line = formatTurn(turns.get(i - offset));
+            int cost = TokenEstimator.estimate(line);
+            if (cost > remaining && !lines.isEmpty()) {
+                break;
+            }
+            lines.addFirst(line);
+            remaining -= cost;
+            firstVerbatim = i;
+        }
+        lines.forEach(history::append);
+
+        if (session != null && foldIntoSummary) {
+            maybeSummarize(session, turns, offset, summarized, firstVerbatim);
+        }
+        return history.toString().trim();
+    }
+
+    /**
+     * @param firstVerbatim position of the oldest turn that went into the prompt verbatim
+     */
+    private void maybeSummarize(ChatSession session, List<ConversationTurn> turns, int offset, int summarized,
+                                int firstVerbatim) {
+        // Turns between the summary and the verbatim tail were cut by the budget and are in neither
+        boolean dropped = firstVerbatim > Math.max(summarized, offset);
+        int foldUpTo = Math.max(offset + turns.size() - properties.getVerbatimMessages(),
+                dropped ? firstVerbatim : 0);
+        if (foldUpTo <= summarized || (!dropped && foldUpTo - summarized < properties.getSummaryBatchSize())) {
+            return;
+        }
+        Long sessionId = session.getSessionId();
+        if (!summarizing.add(sessionId)) {
+            return;
+        }
+
+        // Turns that already left the history buffer unsummarised cannot be recovered; skip them
+        StringBuilder text = new StringBuilder();
+        for (int i = Math.max(summarized, offset); i < foldUpTo; i++) {
+            text.append(formatTurn(turns.get(i - offset)));
+        }
+        String previousSummary = session.getConversationSummary() != null ? session.getConversationSummary() : "";
+        String prompt = promptRegistry.get(SUMMARY_PROMPT).render(previousSummary, text.toString().trim());
+
+        try {
+            geminiCallGate.submit(() -> {
+                String newSummary = geminiAPI.getResponseText(prompt).trim();
+                if (!newSummary.isEmpty()) {
+                    chatSessionRepository.advanceSummary(sessionId, newSummary, summarized, foldUpTo);
+                    logger.debug("Folded messages {}..{} of session {} into its summary", summarized, foldUpTo, sessionId);
+                }
+                return null;
+            }).whenComplete((ignored, error) -> {
+                summarizing.remove(sessionId);
+                if (error != null) {
+                    logger.warn("Summarising session {} failed; will retry on a later turn", sessionId, error);
+                }
+            });
+        } catch (GeminiCapacityExceededException e) {
+            // Upstream is saturated; the next turn will try again
+            summarizing.remove(sessionId);
+        }
+    }
+
+    private static String formatTurn(ConversationTurn turn) {
+        return (turn.isUser() ? "User: " : "AI: ") + turn.content() + "\n";
+    }
+}
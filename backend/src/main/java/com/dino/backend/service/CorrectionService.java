@@ -0,0 +1,70 @@
+package com.dino.backend.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.dino.backend.dto.CategoryCount;
+import com.dino.backend.model.ChatSession;
+import com.dino.backend.model.Correction;
+import com.dino.backend.model.ErrorCategory;
+import com.dino.backend.repository.CorrectionRepository;
+
+/**
+ * Turns Dino's feedback into {@link Correction} rows and answers the progress
+ * queries over them.
+ */
+@Service
+public class CorrectionService {
+
+    private final CorrectionRepository correctionRepository;
+
+    public CorrectionService(CorrectionRepository correctionRepository) {
+        this.correctionRepository = correctionRepository;
+    }
+
+    /**
+     * Parses the feedback of one reply. The corrections are not saved here;
+     * they are inserted with their bot message by {@link MessageService#saveTurn}.
+     *
+     * @param session the chat session the reply belongs to
+     * @param learningLanguage the language the user wrote in
+     * @param feedback the feedback block of the reply, may be null
+     * @return one correction per Original/Correction pair, empty if none were needed
+     */
+    public List<Correction> fromFeedback(ChatSession session, String learningLanguage, String feedback) {
+        List<Correction> corrections = new ArrayList<>();
+        for (FeedbackParser.Item item : FeedbackParser.parse(feedback)) {
+            Correction correction = new Correction();
+            correction.setUserId(session.getUser().getUserId());
+            correction.setOriginalText(item.original());
+            correction.setCorrectedText(item.corrected());
+            correction.setExplanation(item.explanation());
+            correction.setLearningLanguage(learningLanguage);
+            correction.setNativeLanguage(session.getUser().getNativeLanguage());
+            correction.setCategories(ErrorCategory.classify(item.explanation()));
+            corrections.add(correction);
+        }
+        return corrections;
+    }
+
+    public List<CategoryCount> getCategoryCounts(Long userId) {
+        return correctionRepository.countByCategoryForUser(userId);
+    }
+
+    /**
+     * @param category only corrections in this category, or all when null
+     */
+    @Transactional(readOnly = true)
+    public List<Correction> getRecentCorrections(Long userId, ErrorCategory category, int limit) {
+        List<Correction> corrections = category == null
+                ? correctionRepository.findByUserIdOrderByCorrectionIdDesc(userId, PageRequest.of(0, limit))
+                : correctionRepository.findRecentByUserIdAndCategory(userId, category, PageRequest.of(0, limit));
+        // Load the categories (batched) while the session is open
+        corrections.forEach(correction -> correction.getCategories().size());
+        return corrections;
+    }
+}
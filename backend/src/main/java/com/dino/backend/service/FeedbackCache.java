@@ -0,0 +1,87 @@
+package com.dino.backend.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.text.Normalizer;
+import java.util.HexFormat;
+import java.util.Optional;
+
+import org.springframework.stereotype.Service;
+
+import com.dino.backend.config.FeedbackCacheProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Grammar feedback for sentences learners send again and again, keyed by a
+ * hash of the normalised sentence, the language pair and the system prompt
+ * version, and shared between users. Only whitespace and Unicode form are
+ * normalised: case and punctuation are part of what the feedback corrects.
+ *
+ * Callers only fill it from turns whose context came from the server-side
+ * history, never from a client-supplied conversation, which could otherwise
+ * steer the feedback other users are served. Only feedback FeedbackParser
+ * recognises as well-formed is cached.
+ *
+ * Hit and miss counts are exposed as cache.gets{cache=grammarFeedback}.
+ */
+@Service
+public class FeedbackCache {
+
+    private static final String SYSTEM_PROMPT = "system_prompt";
+
+    private final PromptRegistry promptRegistry;
+    private final FeedbackCacheProperties properties;
+    private final Cache<String, String> feedback;
+
+    public FeedbackCache(PromptRegistry promptRegistry, FeedbackCacheProperties properties, MeterRegistry meterRegistry) {
+        this.promptRegistry = promptRegistry;
+        this.properties = properties;
+        this.feedback = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfterWrite(properties.getTtl())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, feedback, "grammarFeedback");
+    }
+
+    /**
+     * Builds the cache key for a sentence.
+     *
+     * @return the key, or empty if the sentence should not be cached
+     */
+    public Optional<String> key(String sentence, String learningLanguage, String nativeLanguage) {
+        if (!properties.isEnabled() || sentence == null) {
+            return Optional.empty();
+        }
+        String normalized = Normalizer.normalize(sentence, Normalizer.Form.NFC).strip().replaceAll("\\s+", " ");
+        if (normalized.isEmpty() || normalized.length() > properties.getMaxSentenceLength()) {
+            return Optional.empty();
+        }
+        String version = promptRegistry.get(SYSTEM_PROMPT).getVersion();
+        return Optional.of(sha256(normalized + '\u0000' + learningLanguage + '\u0000' + nativeLanguage + '\u0000' + version));
+    }
+
+    public Optional<String> get(String key) {
+        return Optional.ofNullable(feedback.getIfPresent(key));
+    }
+
+    public void put(String key, String value) {
+        if (value != null && FeedbackParser.isWellFormed(value)) {
+            feedback.put(key, value);
+        }
+    }
+
+    private static String sha256(String value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.dino.backend.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Parses the grammar feedback block the system prompt asks for:
+ * {@code [Original: ...] [Correction: ...] [Explanation: ...]}, possibly
+ * repeated, or {@code [No Correction Needed: ...]}.
+ *
+ * One left-to-right scan with a bracket depth counter, so nested brackets
+ * (e.g. the praise inside No Correction Needed) stay inside their block and
+ * the cost is linear in the feedback length. A block left open at the end,
+ * as in a truncated reply, is ignored.
+ */
+public final class FeedbackParser {
+
+    /**
+     * One correction: the user's text, the corrected text and why.
+     */
+    public record Item(String original, String corrected, String explanation) {
+    }
+
+    /**
+     * @param items              the complete Original/Correction pairs, in order
+     * @param noCorrectionNeeded whether a No Correction Needed block was found
+     * @param complete           whether every opened block was closed
+     */
+    private record Scan(List<Item> items, boolean noCorrectionNeeded, boolean complete) {
+    }
+
+    private FeedbackParser() {
+    }
+
+    /**
+     * @param feedback the feedback string from Dino's reply, may be null
+     * @return the corrections in order; empty when none were needed or none could be read
+     */
+    public static List<Item> parse(String feedback) {
+        return scan(feedback).items();
+    }
+
+    /**
+     * Whether the feedback is in the shape the system prompt asks for: every
+     * block closed, and either at least one Original/Correction pair or a No
+     * Correction Needed block.
+     *
+     * @param feedback the feedback string from Dino's reply, may be null
+     */
+    public static boolean isWellFormed(String feedback) {
+        Scan scan = scan(feedback);
+        return scan.complete() && (!scan.items().isEmpty() || scan.noCorrectionNeeded());
+    }
+
+    private static Scan scan(String feedback) {
+        List<Item> items = new ArrayList<>();
+        if (feedback == null || feedback.isEmpty()) {
+            return new Scan(items, false, true);
+        }
+
+        boolean noCorrectionNeeded = false;
+        String original = null;
+        String corrected = null;
+        String explanation = null;
+        int depth = 0;
+        int blockStart = -1;
+        // First colon at depth 1 within the current block; it ends the label
+        int colon = -1;
+        for (int i = 0; i < feedback.length(); i++) {
+            char c = feedback.charAt(i);
+            if (c == '[') {
+                if (depth++ == 0) {
+                    blockStart = i + 1;
+                    colon = -1;
+                }
+            } else if (c == ':' && depth == 1 && colon < 0) {
+                colon = i;
+            } else if (c == ']' && depth > 0 && --depth == 0) {
+                if (colon < 0) {
+                    continue;
+                }
+                String label = feedback.substring(blockStart, colon).trim().toLowerCase(Locale.ROOT);
+                String value = feedback.substring(colon + 1, i).trim();
+                if (label.startsWith("original")) {
+                    // A new Original starts the next correction
+                    if (original != null && corrected != null) {
+                        items.add(new Item(original, corrected, explanation));
+                    }
+                    original = value;
+                    corrected = null;
+                    explanation = null;
+                } else if (label.startsWith("correction")) {
+                    corrected = value;
+                } else if (label.startsWith("explanation")) {
+                    explanation = value;
+                } else if (label.startsWith("no correction")) {
+                    noCorrectionNeeded = true;
+                }
+            }
+        }
+        if (original != null && corrected != null) {
+            items.add(new Item(original, corrected, explanation));
+        }
+        return new Scan(items, noCorrectionNeeded, depth == 0);
+    }
+}
@@ -1,18 +1,34 @@
 package com.dino.backend.service;
 
-import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestClientException;
 
+import com.dino.backend.dto.ChatReply;
+import com.dino.backend.dto.ConversationTurn;
 import com.dino.backend.dto.PromptRequest;
+import com.dino.backend.exception.GeminiCapacityExceededException;
+import com.dino.backend.exception.GeminiUnavailableException;
 import com.dino.backend.integration.gemini.GeminiAPI;
+import com.dino.backend.model.ChatSession;
 import com.dino.backend.model.User;
+import com.dino.backend.repository.ChatSessionRepository;
 import com.dino.backend.repository.UserRepository;
 
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+
 @Service
 public class GeminiService {
 
+    private static final Logger logger = LoggerFactory.getLogger(GeminiService.class);
+
     @Autowired
     private GeminiAPI geminiAPI;
 
@@ -22,49 +38,190 @@ public class GeminiService {
     @Autowired
     private UserRepository userRepository;
 
-    public String getGeminiResponse(PromptRequest request) {
-        try {
-            // Load system prompt
-            String systemPrompt = promptLoaderService.loadSystemPrompt();
+    @Autowired
+    private ChatSessionRepository chatSessionRepository;
 
-            // Fetch user
-            User user = userRepository.findById(request.getUserId())
-                    .orElseThrow(() -> new RuntimeException("User not found with ID: " + request.getUserId()));
+    @Autowired
+    private ConversationWindowService conversationWindowService;
 
-            // Build conversation history from all messages
-            StringBuilder conversationHistory = new StringBuilder();
-            for (PromptRequest.Message message : request.getMessages()) {
-                if ("USER".equalsIgnoreCase(message.getSenderType())) {
-                    conversationHistory.append("User: ").append(message.getContent()).append("\n");
-                } else {
-                    conversationHistory.append("AI: ").append(message.getContent()).append("\n");
-                }
-            }
+    @Autowired
+    private ConversationHistoryCache conversationHistoryCache;
 
-            // Add language instruction to enforce language consistency
-            String languageInstruction = String.format(
-                    "The user's native language is %s. The user is learning %s. You must reply in %s.",
-                    user.getNativeLanguage(),
-                    request.getLanguageUsed() != null ? request.getLanguageUsed() : user.getLearningLanguage(),
-                    request.getLanguageUsed() != null ? request.getLanguageUsed() : user.getLearningLanguage()
-            );
+    @Autowired
+    private FeedbackCache feedbackCache;
 
-            // Combine all to form final prompt
-            String fullPrompt = systemPrompt
-                    + "\n\n" + languageInstruction
-                    + "\n\nPlease respond with plain JSON, do not include markdown formatting like ```json."
-                    + "\n\n" + conversationHistory.toString().trim();
+    @Autowired
+    private ObservationRegistry observationRegistry;
 
+    /**
+     * A rendered prompt, with the feedback cache key of the latest user message
+     * and the feedback already cached for it, if any. The model's feedback may
+     * only be cached when fillFeedbackCache is set.
+     */
+    private record PreparedPrompt(String text, String feedbackKey, String cachedFeedback, boolean fillFeedbackCache) {
+    }
+
+    public String getGeminiResponse(PromptRequest request) {
+        try {
             // Send to Gemini
-            String fullResponse = geminiAPI.getResponse(fullPrompt);
+            String fullResponse = geminiAPI.getResponse(buildPrompt(request, false).text());
             return fullResponse;
 
-        } catch (IOException e) {
-            e.printStackTrace();
-            return "Error loading system prompt: " + e.getMessage();
+        } catch (GeminiUnavailableException | GeminiCapacityExceededException | RestClientException e) {
+            // GlobalExceptionHandler turns these into 503 with Retry-After, or 502
+            throw e;
         } catch (RuntimeException e) {
-            e.printStackTrace();
+            logger.error("Gemini request failed for userId={}", request.getUserId(), e);
             return "Error processing request: " + e.getMessage();
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Generates Dino's reply for the request and parses it into conversation and
+     * feedback. Unlike getGeminiResponse, every failure is thrown rather than
+     * returned as text.
+     *
+     * @param request the chat turn to answer
+     * @return the parsed reply
+     */
+    public ChatReply getChatReply(PromptRequest request) {
+        PreparedPrompt prompt = buildPrompt(request, true);
+        String text = geminiAPI.getResponseText(prompt.text());
+        return applyFeedbackCache(prompt, ChatReplyParser.parse(text));
+    }
+
+    /**
+     * Streams Dino's reply for the request. Decoded pieces of the "conversation"
+     * value are passed to the consumer as Gemini produces them; the parsed reply,
+     * including the feedback block, is returned once the stream has finished.
+     *
+     * @param request             the chat turn to answer
+     * @param onConversationDelta receives the conversation text as it arrives
+     * @return the complete parsed reply
+     */
+    public ChatReply streamGeminiResponse(PromptRequest request, Consumer<String> onConversationDelta) {
+        ChatReplyParser.ConversationStream conversationStream = new ChatReplyParser.ConversationStream();
+        PreparedPrompt prompt = buildPrompt(request, true);
+        String fullText = geminiAPI.streamResponse(prompt.text(), chunk -> {
+            String delta = conversationStream.accept(chunk);
+            if (!delta.isEmpty()) {
+                onConversationDelta.accept(delta);
+            }
+        });
+        return applyFeedbackCache(prompt, ChatReplyParser.parse(fullText));
+    }
+
+    /**
+     * Substitutes cached feedback into the reply, or caches the feedback the
+     * model just produced.
+     */
+    private ChatReply applyFeedbackCache(PreparedPrompt prompt, ChatReply reply) {
+        if (prompt.cachedFeedback() != null) {
+            reply.setFeedback(prompt.cachedFeedback());
+        } else if (prompt.feedbackKey() != null && prompt.fillFeedbackCache()) {
+            feedbackCache.put(prompt.feedbackKey(), reply.getFeedback());
+        }
+        return reply;
+    }
+
+    /**
+     * @param useFeedbackCache whether the caller parses the reply, so cached
+     *                         feedback can be substituted for the model's
+     */
+    private PreparedPrompt buildPrompt(PromptRequest request, boolean useFeedbackCache) {
+        // Span covering history loading and windowing, which may summarise through Gemini
+        Observation observation = Observation.createNotStarted("prompt.build", observationRegistry)
+                .lowCardinalityKeyValue("history", request.getMessages() != null ? "client" : "server");
+        if (request.getSessionId() != null) {
+            observation.highCardinalityKeyValue("session.id", request.getSessionId().toString());
+        }
+        observation.start();
+        try (Observation.Scope scope = observation.openScope()) {
+            PreparedPrompt prompt = assemblePrompt(request, useFeedbackCache);
+            observation.highCardinalityKeyValue("prompt.chars", String.valueOf(prompt.text().length()))
+                    .highCardinalityKeyValue("prompt.tokens", String.valueOf(TokenEstimator.estimate(prompt.text())))
+                    .lowCardinalityKeyValue("feedback.cached", String.valueOf(prompt.cachedFeedback() != null));
+            return prompt;
+        } catch (RuntimeException e) {
+            observation.error(e);
+            throw e;
+        } finally {
+            observation.stop();
+        }
+    }
+
+    private PreparedPrompt assemblePrompt(PromptRequest request, boolean useFeedbackCache) {
+        // Load system prompt
+        String systemPrompt = promptLoaderService.loadSystemPrompt();
+
+        ChatSession session = request.getSessionId() != null
+                ? chatSessionRepository.findById(request.getSessionId()).orElse(null)
+                : null;
+
+        User user;
+        List<ConversationTurn> turns;
+        int offset;
+        if (request.getMessages() != null) {
+            // Client sent the full history
+            user = userRepository.findById(request.getUserId())
+                    .orElseThrow(() -> new RuntimeException("User not found with ID: " + request.getUserId()));
+            turns = request.getMessages().stream()
+                    .map(m -> new ConversationTurn(m.getMessageId(), m.getSenderType(), m.getContent()))
+                    .toList();
+            offset = 0;
+            // The stored summary is only read for the user's own session, and never advanced from these turns
+            if (session != null && !session.getUser().getUserId().equals(user.getUserId())) {
+                session = null;
+            }
+        } else {
+            // Client sent only the new message; the rest comes from the server-side history
+            if (session == null) {
+                throw new RuntimeException("Session not found with ID: " + request.getSessionId());
+            }
+            user = session.getUser();
+            // Callers set userId to the authenticated user (see PromptController), never the client's value
+            if (!user.getUserId().equals(request.getUserId())) {
+                throw new RuntimeException("Session " + request.getSessionId() + " does not belong to user " + request.getUserId());
+            }
+            ConversationHistoryCache.Snapshot history = conversationHistoryCache.get(session.getSessionId());
+            turns = new ArrayList<>(history.turns());
+            turns.add(new ConversationTurn(null, "user", request.getMessage()));
+            offset = history.offset();
+        }
+
+        // Recent turns verbatim plus the rolling summary, within the token budget
+        String conversationHistory = conversationWindowService.buildHistory(
+                session, turns, offset, request.getMessages() == null);
+
+        // Add language instruction to enforce language consistency
+        String learningLanguage = request.getLanguageUsed() != null ? request.getLanguageUsed() : user.getLearningLanguage();
+        String languageInstruction = String.format(
+                "The user's native language is %s. The user is learning %s. You must reply in %s.",
+                user.getNativeLanguage(),
+                learningLanguage,
+                learningLanguage
+        );
+
+        // Feedback depends mostly on the sentence, so a repeated one reuses it; the reply is still generated.
+        // Any request may read the shared cache, but only server-side history may fill it
+        String feedbackKey = null;
+        String cachedFeedback = null;
+        ConversationTurn latest = turns.isEmpty() ? null : turns.get(turns.size() - 1);
+        if (useFeedbackCache && latest != null && latest.isUser()) {
+            feedbackKey = feedbackCache.key(latest.content(), learningLanguage, user.getNativeLanguage())
+                    .orElse(null);
+            cachedFeedback = feedbackKey != null ? feedbackCache.get(feedbackKey).orElse(null) : null;
+        }
+        String feedbackInstruction = cachedFeedback != null
+                ? "\n\nFeedback for the latest user message is already available; set \"feedback\" to an empty string."
+                : "";
+
+        // Combine all to form final prompt
+        String prompt = systemPrompt
+                + "\n\n" + languageInstruction
+                + "\n\nPlease respond with plain JSON, do not include markdown formatting like ```json."
+                + feedbackInstruction
+                + "\n\n" + conversationHistory;
+        return new PreparedPrompt(prompt, feedbackKey, cachedFeedback, request.getMessages() == null);
+    }
+}
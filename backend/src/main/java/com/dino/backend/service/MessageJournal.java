@@ -0,0 +1,275 @@
+package com.dino.backend.service;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.dino.backend.model.BotMessage;
+import com.dino.backend.model.Correction;
+import com.dino.backend.model.ErrorCategory;
+import com.dino.backend.model.Message;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+/**
+ * Append-only journal of messages that are acknowledged but not yet inserted,
+ * one JSON line per message. Writes go to the active segment; roll() closes it
+ * so it can be deleted once its messages are in the database. Segments left
+ * behind by a crash are replayed on startup. Entries the database rejects for
+ * an unexpected reason are kept in a dead-letter file instead.
+ *
+ * sync() is a group commit: a caller whose write was already covered by
+ * another caller's fsync returns without one of its own.
+ */
+class MessageJournal implements Closeable {
+
+    private static final Logger logger = LoggerFactory.getLogger(MessageJournal.class);
+
+    private static final String PREFIX = "messages-";
+    private static final String SUFFIX = ".journal";
+    // Not a segment, so never replayed
+    private static final String DEAD_LETTER = "dead-letter.jsonl";
+
+    /**
+     * A message as it will be inserted into dino_message, with the
+     * dino_correction rows of a bot message.
+     */
+    record Entry(long messageId, long sessionId, Long userId, String senderType, String content,
+                 String correctedContent, LocalDateTime timestamp, List<CorrectionEntry> corrections) {
+
+        Entry {
+            // Absent from lines journaled before corrections were stored
+            // (userId too, for lines older than the dino_message.user_id column)
+            corrections = corrections == null ? List.of() : corrections;
+        }
+
+        static Entry of(Message message) {
+            List<CorrectionEntry> corrections = message instanceof BotMessage bot
+                    ? bot.getCorrections().stream().map(CorrectionEntry::of).toList()
+                    : List.of();
+            return new Entry(message.getMessageId(), message.getChatSession().getSessionId(),
+                    message.getUserId(), message instanceof BotMessage ? "bot" : "user", message.getContent(),
+                    message instanceof BotMessage bot ? bot.getCorrectedContent() : null,
+                    message.getTimestamp(), corrections);
+        }
+    }
+
+    /**
+     * A correction as it will be inserted into dino_correction and dino_correction_category.
+     */
+    record CorrectionEntry(long correctionId, long userId, String originalText, String correctedText,
+                           String explanation, String learningLanguage, String nativeLanguage,
+                           Set<ErrorCategory> categories, LocalDateTime createdAt) {
+
+        static CorrectionEntry of(Correction correction) {
+            return new CorrectionEntry(correction.getCorrectionId(), correction.getUserId(),
+                    correction.getOriginalText(), correction.getCorrectedText(), correction.getExplanation(),
+                    correction.getLearningLanguage(), correction.getNativeLanguage(),
+                    correction.getCategories(), correction.getCreatedAt());
+        }
+    }
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    private final Path directory;
+    private final List<Path> leftover;
+
+    // Positions count bytes across all segments, so a roll does not reset them
+    private final Object syncLock = new Object();
+    private long synced;
+
+    // Guarded by this
+    private FileChannel active;
+    private Path activePath;
+    private long segmentNumber;
+    private long written;
+    private long activeStart;
+
+    MessageJournal(Path directory) {
+        this.directory = directory;
+        try {
+            Files.createDirectories(directory);
+            try (Stream<Path> files = Files.list(directory)) {
+                leftover = files.filter(MessageJournal::isSegment).sorted().toList();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open message journal in " + directory, e);
+        }
+        segmentNumber = leftover.isEmpty() ? 0 : number(leftover.get(leftover.size() - 1));
+        openNext();
+    }
+
+    /**
+     * @return segments written before this journal was opened, oldest first
+     */
+    List<Path> leftoverSegments() {
+        return leftover;
+    }
+
+    /**
+     * Appends entries to the active segment without forcing them to disk.
+     *
+     * @return the position to pass to {@link #sync(long)}
+     */
+    synchronized long write(List<Entry> entries) {
+        StringBuilder lines = new StringBuilder();
+        try {
+            for (Entry entry : entries) {
+                lines.append(objectMapper.writeValueAsString(entry)).append('\n');
+            }
+            ByteBuffer buffer = ByteBuffer.wrap(lines.toString().getBytes(StandardCharsets.UTF_8));
+            while (buffer.hasRemaining()) {
+                written += active.write(buffer);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot write to " + activePath, e);
+        }
+        return written;
+    }
+
+    /**
+     * Returns once everything up to the position is on disk.
+     */
+    void sync(long position) {
+        synchronized (syncLock) {
+            if (synced >= position) {
+                return;
+            }
+            long target;
+            synchronized (this) {
+                target = written;
+                force();
+            }
+            synced = target;
+        }
+    }
+
+    /**
+     * Closes the active segment and starts a new one.
+     *
+     * @return the closed segment, or null if nothing was written to it
+     */
+    Path roll() {
+        synchronized (syncLock) {
+            synchronized (this) {
+                if (written == activeStart) {
+                    return null;
+                }
+                force();
+                synced = written;
+                Path closed = activePath;
+                close();
+                openNext();
+                return closed;
+            }
+        }
+    }
+
+    void delete(Path segment) {
+        try {
+            Files.deleteIfExists(segment);
+        } catch (IOException e) {
+            logger.warn("Could not delete message journal segment {}", segment, e);
+        }
+    }
+
+    /**
+     * Appends an entry the database rejected to the dead-letter file, with the
+     * reason, so it can be inspected and re-applied by hand. Returns once the
+     * line is on disk.
+     */
+    synchronized void deadLetter(Entry entry, String reason) {
+        Path path = directory.resolve(DEAD_LETTER);
+        try (FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            String line = objectMapper.writeValueAsString(new DeadLetter(reason, entry)) + '\n';
+            ByteBuffer buffer = ByteBuffer.wrap(line.getBytes(StandardCharsets.UTF_8));
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot write to " + path, e);
+        }
+    }
+
+    private record DeadLetter(String reason, Entry entry) {
+    }
+
+    /**
+     * Reads a segment, ignoring a final line torn by a crash mid-write.
+     */
+    List<Entry> read(Path segment) throws IOException {
+        List<Entry> entries = new ArrayList<>();
+        List<String> lines = Files.readAllLines(segment, StandardCharsets.UTF_8);
+        for (int i = 0; i < lines.size(); i++) {
+            try {
+                entries.add(objectMapper.readValue(lines.get(i), Entry.class));
+            } catch (JsonProcessingException e) {
+                if (i < lines.size() - 1) {
+                    throw e;
+                }
+                logger.warn("Ignoring incomplete last entry of {}", segment);
+            }
+        }
+        return entries;
+    }
+
+    @Override
+    public synchronized void close() {
+        try {
+            active.close();
+            if (written == activeStart) {
+                Files.deleteIfExists(activePath);
+            }
+        } catch (IOException e) {
+            logger.warn("Could not close message journal segment {}", activePath, e);
+        }
+    }
+
+    private void force() {
+        try {
+            active.force(false);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot sync " + activePath, e);
+        }
+    }
+
+    private void openNext() {
+        segmentNumber++;
+        activePath = directory.resolve(String.format("%s%019d%s", PREFIX, segmentNumber, SUFFIX));
+        activeStart = written;
+        try {
+            active = FileChannel.open(activePath, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot create " + activePath, e);
+        }
+    }
+
+    private static boolean isSegment(Path path) {
+        String name = path.getFileName().toString();
+        return name.startsWith(PREFIX) && name.endsWith(SUFFIX);
+    }
+
+    private static long number(Path segment) {
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+    }
+}
@@ -1,16 +1,25 @@
 package com.dino.backend.service;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import com.dino.backend.dto.ChatReply;
+import com.dino.backend.dto.ConversationTurn;
+import com.dino.backend.model.BotMessage;
 import com.dino.backend.model.ChatSession;
+import com.dino.backend.model.Correction;
 import com.dino.backend.model.Message;
+import com.dino.backend.model.UserMessage;
 import com.dino.backend.repository.ChatSessionRepository;
 import com.dino.backend.repository.MessageRepository;
 
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+
 @Service
 public class MessageService {
 
@@ -20,9 +29,19 @@ public class MessageService {
     @Autowired
     private ChatSessionRepository chatSessionRepository;
 
+    @Autowired
+    private ConversationHistoryCache conversationHistoryCache;
+
+    @Autowired
+    private ObservationRegistry observationRegistry;
+
+    @Autowired
+    private MessageWriteBehind messageWriteBehind;
+
     public List<Message> getMessagesBySessionId(Long sessionId) {
         Optional<ChatSession> sessionOptional = chatSessionRepository.findById(sessionId);
         if (sessionOptional.isPresent()) {
+            messageWriteBehind.flush();
             return messageRepository.findByChatSession(sessionOptional.get());
         } else {
             throw new IllegalArgumentException("Chat session not found with ID: " + sessionId);
@@ -30,6 +49,73 @@ public class MessageService {
     }
 
     public Message saveMessage(Message message) {
-        return messageRepository.save(message);
+        Message saved = saveObservation(message.getChatSession(), 1)
+                .observe(() -> persist(List.of(message)).get(0));
+        if (saved.getChatSession() != null) {
+            conversationHistoryCache.append(saved.getChatSession().getSessionId(), new ConversationTurn(
+                    saved.getMessageId(), saved instanceof BotMessage ? "bot" : "user", saved.getContent()));
+        }
+        return saved;
+    }
+
+    /**
+     * Saves both sides of a chat turn in one transaction (saveAll's), or one
+     * journal write when write-behind is enabled.
+     *
+     * @param session the chat session the turn belongs to
+     * @param userText the message the user sent
+     * @param reply Dino's parsed reply; its feedback is stored as the corrected content
+     * @param corrections the corrections parsed from the feedback, saved with the bot message
+     * @return the saved user and bot messages, in that order
+     */
+    public List<Message> saveTurn(ChatSession session, String userText, ChatReply reply,
+                                  List<Correction> corrections) {
+        LocalDateTime now = LocalDateTime.now();
+
+        Long userId = session.getUser().getUserId();
+
+        UserMessage userMessage = new UserMessage();
+        userMessage.setChatSession(session);
+        userMessage.setUserId(userId);
+        userMessage.setContent(userText);
+        userMessage.setTimestamp(now);
+
+        BotMessage botMessage = new BotMessage();
+        botMessage.setChatSession(session);
+        botMessage.setUserId(userId);
+        botMessage.setContent(reply.getConversation());
+        botMessage.setCorrectedContent(reply.getFeedback());
+        botMessage.setTimestamp(now);
+        for (Correction correction : corrections) {
+            correction.setMessage(botMessage);
+            correction.setCreatedAt(now);
+        }
+        botMessage.setCorrections(corrections);
+
+        List<Message> saved = saveObservation(session, 2)
+                .observe(() -> persist(List.of(userMessage, botMessage)));
+        for (Message message : saved) {
+            conversationHistoryCache.append(session.getSessionId(), new ConversationTurn(
+                    message.getMessageId(), message instanceof BotMessage ? "bot" : "user", message.getContent()));
+        }
+        return saved;
+    }
+
+    // Inserted now (one JDBC batch), or journaled for the write-behind when it is enabled
+    private List<Message> persist(List<Message> messages) {
+        if (messageWriteBehind.isEnabled()) {
+            messageWriteBehind.enqueue(messages);
+            return messages;
+        }
+        return messageRepository.saveAll(messages);
+    }
+
+    private Observation saveObservation(ChatSession session, int messages) {
+        Observation observation = Observation.createNotStarted("messages.save", observationRegistry)
+                .lowCardinalityKeyValue("messages", String.valueOf(messages));
+        if (session != null && session.getSessionId() != null) {
+            observation.highCardinalityKeyValue("session.id", session.getSessionId().toString());
+        }
+        return observation;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,431 @@
+package com.dino.backend.service;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.dino.backend.config.MessageWriteBehindProperties;
+import com.dino.backend.model.BotMessage;
+import com.dino.backend.model.Correction;
+import com.dino.backend.model.ErrorCategory;
+import com.dino.backend.model.Message;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Optional write-behind for dino_message. When enabled, a save returns as soon
+ * as the messages have IDs and are fsynced to a local {@link MessageJournal};
+ * a single flusher then inserts everything queued as JDBC batches in one
+ * transaction, when the queue reaches batchSize or every flushInterval. A bot
+ * message's corrections travel in its journal entry and are inserted with it.
+ *
+ * IDs come from Message's and Correction's own pooled sequence generators, so
+ * they match what a direct save would assign and replaying a journal after a
+ * crash is idempotent: rows that already exist are skipped. So are rows whose
+ * session was deleted before they were flushed. A row rejected for any other
+ * reason goes to the journal's dead-letter file rather than being lost; the
+ * NOT NULL columns are checked before a save is acknowledged, so this should
+ * not happen.
+ *
+ * Segments left by a crash are queued at startup and inserted by the flusher,
+ * which retries until the database accepts them.
+ *
+ * Readers that need their own writes call {@link #flush()} first.
+ *
+ * Metrics: messages.write_behind.pending, messages.write_behind.batch (rows
+ * per flush), messages.write_behind.flush (latency),
+ * messages.write_behind.dead_lettered.
+ */
+@Component
+public class MessageWriteBehind {
+
+    private static final Logger logger = LoggerFactory.getLogger(MessageWriteBehind.class);
+
+    // Mirrors Message's mapping; BotMessage is the only subclass with its own column.
+    // Entries journaled before user_id existed take it from the session
+    private static final String INSERT = "INSERT INTO dino_message "
+            + "(message_id, session_id, user_id, sender_type, content, timestamp, corrected_content) "
+            + "VALUES (?, ?, COALESCE(?, (SELECT user_id FROM dino_chat_session WHERE session_id = ?)), ?, ?, ?, ?)";
+    private static final String INSERT_CORRECTION = "INSERT INTO dino_correction "
+            + "(correction_id, message_id, user_id, original_text, corrected_text, explanation, "
+            + "learning_language, native_language, created_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_CATEGORY = "INSERT INTO dino_correction_category "
+            + "(correction_id, category) VALUES (?, ?)";
+
+    private final MessageWriteBehindProperties properties;
+    private final EntityManagerFactory entityManagerFactory;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+
+    private SessionFactory sessionFactory;
+    private IdentifierGenerator idGenerator;
+    private IdentifierGenerator correctionIdGenerator;
+    private MessageJournal journal;
+    private ScheduledExecutorService flusher;
+    private DistributionSummary batchSizes;
+    private Timer flushTimer;
+    private Counter deadLettered;
+
+    // Journaled but not yet inserted, in journal order; guarded by this
+    private final List<MessageJournal.Entry> pending = new ArrayList<>();
+
+    // One flush at a time; also guards retainedSegments
+    private final ReentrantLock flushLock = new ReentrantLock();
+    // Segments whose entries went back to pending after a failed flush
+    private final List<Path> retainedSegments = new ArrayList<>();
+
+    public MessageWriteBehind(MessageWriteBehindProperties properties,
+                              EntityManagerFactory entityManagerFactory,
+                              JdbcTemplate jdbcTemplate,
+                              PlatformTransactionManager transactionManager,
+                              MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.entityManagerFactory = entityManagerFactory;
+        this.jdbcTemplate = jdbcTemplate;
+        this.meterRegistry = meterRegistry;
+        // Never join a caller's transaction: its rollback must not undo other users' messages
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        idGenerator = generator(Message.class);
+        correctionIdGenerator = generator(Correction.class);
+        journal = new MessageJournal(Path.of(properties.getJournalDirectory()));
+        deadLettered = Counter.builder("messages.write_behind.dead_lettered")
+                .baseUnit("messages")
+                .register(meterRegistry);
+        replay();
+
+        Gauge.builder("messages.write_behind.pending", this, MessageWriteBehind::pendingCount)
+                .register(meterRegistry);
+        batchSizes = DistributionSummary.builder("messages.write_behind.batch")
+                .baseUnit("messages")
+                .register(meterRegistry);
+        flushTimer = Timer.builder("messages.write_behind.flush").register(meterRegistry);
+
+        flusher = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("message-write-behind").daemon().factory());
+        long interval = properties.getFlushInterval().toNanos();
+        flusher.scheduleWithFixedDelay(this::flushQuietly, 0, interval, TimeUnit.NANOSECONDS);
+    }
+
+    private IdentifierGenerator generator(Class<?> entity) {
+        return (IdentifierGenerator) entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getMappingMetamodel().getEntityDescriptor(entity).getGenerator();
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    /**
+     * Assigns IDs to the messages and journals them. Once this returns the
+     * messages survive a crash; they reach the database on the next flush.
+     *
+     * @param messages new messages, each with its chat session set; bot messages
+     *                 may carry corrections, which get IDs too
+     */
+    public void enqueue(List<Message> messages) {
+        // Reject now what the insert would reject after the save was acknowledged
+        messages.forEach(MessageWriteBehind::validate);
+
+        List<MessageJournal.Entry> entries = new ArrayList<>(messages.size());
+        try (StatelessSession session = sessionFactory.openStatelessSession()) {
+            for (Message message : messages) {
+                if (message.getTimestamp() == null) {
+                    message.setTimestamp(LocalDateTime.now());
+                }
+                message.setMessageId((Long) idGenerator.generate((SharedSessionContractImplementor) session, message));
+                if (message instanceof BotMessage bot) {
+                    for (Correction correction : bot.getCorrections()) {
+                        if (correction.getCreatedAt() == null) {
+                            correction.setCreatedAt(message.getTimestamp());
+                        }
+                        correction.setCorrectionId((Long) correctionIdGenerator.generate(
+                                (SharedSessionContractImplementor) session, correction));
+                    }
+                }
+                entries.add(MessageJournal.Entry.of(message));
+            }
+        }
+
+        long position;
+        int queued;
+        synchronized (this) {
+            position = journal.write(entries);
+            pending.addAll(entries);
+            queued = pending.size();
+        }
+        journal.sync(position);
+
+        if (queued >= properties.getMaxPending()) {
+            // The database is not keeping up; make savers wait for it rather than grow the queue
+            try {
+                flush();
+            } catch (RuntimeException e) {
+                // The messages are journaled, so the save stands; the flusher retries the insert
+                logger.warn("Message write-behind flush failed under backpressure; will retry", e);
+            }
+        } else if (queued >= properties.getBatchSize()) {
+            flusher.execute(this::flushQuietly);
+        }
+    }
+
+    // Mirrors the NOT NULL columns of dino_message and dino_correction
+    private static void validate(Message message) {
+        if (message.getChatSession() == null || message.getChatSession().getSessionId() == null) {
+            throw new IllegalArgumentException("Message has no chat session");
+        }
+        if (message.getUserId() == null) {
+            throw new IllegalArgumentException("Message has no user");
+        }
+        if (message.getContent() == null) {
+            throw new IllegalArgumentException("Message has no content");
+        }
+        if (message instanceof BotMessage bot) {
+            for (Correction correction : bot.getCorrections()) {
+                if (correction.getUserId() == null || correction.getOriginalText() == null
+                        || correction.getCorrectedText() == null || correction.getLearningLanguage() == null) {
+                    throw new IllegalArgumentException("Correction is missing a required value");
+                }
+            }
+        }
+    }
+
+    /**
+     * Inserts everything queued so far and returns once it is committed. Does
+     * nothing when write-behind is disabled or the queue is empty.
+     */
+    public void flush() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        flushLock.lock();
+        try {
+            List<MessageJournal.Entry> batch;
+            Path segment;
+            synchronized (this) {
+                if (pending.isEmpty()) {
+                    return;
+                }
+                batch = new ArrayList<>(pending);
+                pending.clear();
+                // Everything in the closed segment is now in batch (or retained from earlier)
+                segment = journal.roll();
+            }
+            if (segment != null) {
+                retainedSegments.add(segment);
+            }
+
+            try {
+                flushTimer.record(() -> insert(batch));
+            } catch (RuntimeException e) {
+                synchronized (this) {
+                    pending.addAll(0, batch);
+                }
+                throw e;
+            }
+            batchSizes.record(batch.size());
+            retainedSegments.forEach(journal::delete);
+            retainedSegments.clear();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (Exception e) {
+            logger.warn("Message write-behind flush failed; will retry", e);
+        }
+    }
+
+    private synchronized int pendingCount() {
+        return pending.size();
+    }
+
+    // Queues the leftover segments for the flusher rather than inserting them here,
+    // so an unreachable database delays the replay instead of failing startup
+    private void replay() {
+        int replayed = 0;
+        for (Path segment : journal.leftoverSegments()) {
+            List<MessageJournal.Entry> entries;
+            try {
+                entries = journal.read(segment);
+            } catch (IOException e) {
+                // Left on disk, so the next startup tries it again
+                logger.error("Cannot replay message journal segment {}", segment, e);
+                continue;
+            }
+            if (entries.isEmpty()) {
+                journal.delete(segment);
+                continue;
+            }
+            pending.addAll(entries);
+            retainedSegments.add(segment);
+            replayed += entries.size();
+        }
+        if (replayed > 0) {
+            logger.info("Replaying {} journaled messages", replayed);
+        }
+    }
+
+    private void insert(List<MessageJournal.Entry> entries) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> insertRows(entries));
+        } catch (DataIntegrityViolationException e) {
+            // Find the rows at fault and insert the rest
+            for (MessageJournal.Entry entry : entries) {
+                try {
+                    transactionTemplate.executeWithoutResult(status -> insertRows(List.of(entry)));
+                } catch (DuplicateKeyException duplicate) {
+                    // Inserted before a crash and now replayed
+                    logger.debug("Skipping journaled message {}: already inserted", entry.messageId());
+                } catch (DataIntegrityViolationException rowFailure) {
+                    String reason = rowFailure.getMostSpecificCause().getMessage();
+                    if (!sessionExists(entry.sessionId())) {
+                        logger.warn("Dropping journaled message {}: session {} was deleted",
+                                entry.messageId(), entry.sessionId());
+                    } else {
+                        journal.deadLetter(entry, reason);
+                        deadLettered.increment();
+                        logger.error("Moved journaled message {} of session {} to the dead-letter file: {}",
+                                entry.messageId(), entry.sessionId(), reason);
+                    }
+                }
+            }
+        }
+    }
+
+    private boolean sessionExists(long sessionId) {
+        Integer count = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM dino_chat_session WHERE session_id = ?", Integer.class, sessionId);
+        return count != null && count > 0;
+    }
+
+    // Messages first, then the corrections and categories that reference them
+    private void insertRows(List<MessageJournal.Entry> entries) {
+        jdbcTemplate.batchUpdate(INSERT, entries, properties.getBatchSize(), MessageWriteBehind::bind);
+
+        List<CorrectionRow> corrections = new ArrayList<>();
+        List<CategoryRow> categories = new ArrayList<>();
+        for (MessageJournal.Entry entry : entries) {
+            for (MessageJournal.CorrectionEntry correction : entry.corrections()) {
+                corrections.add(new CorrectionRow(entry.messageId(), correction));
+                for (ErrorCategory category : correction.categories()) {
+                    categories.add(new CategoryRow(correction.correctionId(), category));
+                }
+            }
+        }
+        if (!corrections.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_CORRECTION, corrections, properties.getBatchSize(),
+                    MessageWriteBehind::bindCorrection);
+            jdbcTemplate.batchUpdate(INSERT_CATEGORY, categories, properties.getBatchSize(), (ps, row) -> {
+                ps.setLong(1, row.correctionId());
+                ps.setString(2, row.category().name());
+            });
+        }
+    }
+
+    private record CorrectionRow(long messageId, MessageJournal.CorrectionEntry correction) {
+    }
+
+    private record CategoryRow(long correctionId, ErrorCategory category) {
+    }
+
+    private static void bind(PreparedStatement ps, MessageJournal.Entry entry) throws SQLException {
+        ps.setLong(1, entry.messageId());
+        ps.setLong(2, entry.sessionId());
+        if (entry.userId() != null) {
+            ps.setLong(3, entry.userId());
+        } else {
+            ps.setNull(3, Types.BIGINT);
+        }
+        ps.setLong(4, entry.sessionId());
+        ps.setString(5, entry.senderType());
+        ps.setString(6, entry.content());
+        ps.setTimestamp(7, Timestamp.valueOf(entry.timestamp()));
+        setNullableString(ps, 8, entry.correctedContent());
+    }
+
+    private static void bindCorrection(PreparedStatement ps, CorrectionRow row) throws SQLException {
+        MessageJournal.CorrectionEntry correction = row.correction();
+        ps.setLong(1, correction.correctionId());
+        ps.setLong(2, row.messageId());
+        ps.setLong(3, correction.userId());
+        ps.setString(4, correction.originalText());
+        ps.setString(5, correction.correctedText());
+        setNullableString(ps, 6, correction.explanation());
+        ps.setString(7, correction.learningLanguage());
+        setNullableString(ps, 8, correction.nativeLanguage());
+        ps.setTimestamp(9, Timestamp.valueOf(correction.createdAt()));
+    }
+
+    private static void setNullableString(PreparedStatement ps, int index, String value) throws SQLException {
+        if (value != null) {
+            ps.setString(index, value);
+        } else {
+            ps.setNull(index, Types.VARCHAR);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (flusher == null) {
+            return;
+        }
+        flusher.shutdown();
+        try {
+            flusher.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            // Still journaled; inserted by the replay on next startup
+            logger.warn("Final message write-behind flush failed", e);
+        }
+        journal.close();
+    }
+}
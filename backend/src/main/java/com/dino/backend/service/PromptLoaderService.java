@@ -1,20 +1,26 @@
 package com.dino.backend.service;
 
-import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Paths;
-
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.core.io.Resource;
 import org.springframework.stereotype.Service;
 
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+
 @Service
 public class PromptLoaderService {
 
-    @Value("classpath:prompts/system_prompt.txt")
-    private Resource systemPromptResource;
+    private static final String SYSTEM_PROMPT = "system_prompt";
+
+    private final PromptRegistry promptRegistry;
+    private final ObservationRegistry observationRegistry;
+
+    public PromptLoaderService(PromptRegistry promptRegistry, ObservationRegistry observationRegistry) {
+        this.promptRegistry = promptRegistry;
+        this.observationRegistry = observationRegistry;
+    }
 
-    public String loadSystemPrompt() throws IOException {
-        return new String(Files.readAllBytes(Paths.get(systemPromptResource.getURI())));
+    public String loadSystemPrompt() {
+        return Observation.createNotStarted("prompt.system.load", observationRegistry)
+                .lowCardinalityKeyValue("prompt", SYSTEM_PROMPT)
+                .observe(() -> promptRegistry.get(SYSTEM_PROMPT).getText());
     }
 }
@@ -0,0 +1,138 @@
+package com.dino.backend.service;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.ResourcePatternResolver;
+import org.springframework.stereotype.Service;
+
+import com.dino.backend.config.PromptProperties;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Holds every prompt template under the configured location (classpath:prompts/
+ * by default), loaded once at startup and looked up by file name without the
+ * .txt extension. Templates are read through the Resource stream, so this also
+ * works from inside the packaged jar.
+ *
+ * With app.prompts.hot-reload=true the watch directory is monitored and edited
+ * templates replace the loaded ones; intended for local development only.
+ */
+@Service
+public class PromptRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(PromptRegistry.class);
+
+    private static final String EXTENSION = ".txt";
+
+    private final ResourcePatternResolver resourceResolver;
+    private final PromptProperties properties;
+
+    private volatile Map<String, PromptTemplate> templates = Map.of();
+    private WatchService watchService;
+
+    public PromptRegistry(ResourcePatternResolver resourceResolver, PromptProperties properties) {
+        this.resourceResolver = resourceResolver;
+        this.properties = properties;
+    }
+
+    @PostConstruct
+    public void loadAll() throws IOException {
+        Map<String, PromptTemplate> loaded = new HashMap<>();
+        for (Resource resource : resourceResolver.getResources(properties.getLocation() + "*" + EXTENSION)) {
+            String name = templateName(resource.getFilename());
+            String text = new String(resource.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+            loaded.put(name, new PromptTemplate(name, text));
+        }
+        templates = Map.copyOf(loaded);
+        logger.info("Loaded {} prompt templates from {}", loaded.size(), properties.getLocation());
+
+        if (properties.isHotReload()) {
+            startWatcher();
+        }
+    }
+
+    /**
+     * Looks up a template by name.
+     *
+     * @param name the file name without extension, e.g. "system_prompt"
+     * @return the template
+     * @throws IllegalStateException if no such template was loaded
+     */
+    public PromptTemplate get(String name) {
+        PromptTemplate template = templates.get(name);
+        if (template == null) {
+            throw new IllegalStateException("Prompt template not found: " + name);
+        }
+        return template;
+    }
+
+    private void startWatcher() throws IOException {
+        Path directory = Paths.get(properties.getWatchDirectory()).toAbsolutePath();
+        if (!Files.isDirectory(directory)) {
+            logger.warn("Prompt hot reload enabled but {} is not a directory", directory);
+            return;
+        }
+        watchService = directory.getFileSystem().newWatchService();
+        directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+
+        Thread watcher = new Thread(() -> watch(directory), "prompt-watcher");
+        watcher.setDaemon(true);
+        watcher.start();
+        logger.info("Watching {} for prompt changes", directory);
+    }
+
+    private void watch(Path directory) {
+        try {
+            while (true) {
+                WatchKey key = watchService.take();
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (event.context() instanceof Path changed && changed.toString().endsWith(EXTENSION)) {
+                        reload(directory.resolve(changed));
+                    }
+                }
+                key.reset();
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // Shutting down
+        }
+    }
+
+    private void reload(Path file) {
+        try {
+            String name = templateName(file.getFileName().toString());
+            Map<String, PromptTemplate> updated = new HashMap<>(templates);
+            updated.put(name, new PromptTemplate(name, Files.readString(file, StandardCharsets.UTF_8)));
+            templates = Map.copyOf(updated);
+            logger.info("Reloaded prompt template '{}'", name);
+        } catch (IOException e) {
+            logger.warn("Failed to reload prompt template {}", file, e);
+        }
+    }
+
+    private static String templateName(String filename) {
+        return filename.substring(0, filename.length() - EXTENSION.length());
+    }
+
+    @PreDestroy
+    public void stopWatcher() throws IOException {
+        if (watchService != null) {
+            watchService.close();
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.dino.backend.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * An immutable prompt template, split once at load time around its %s
+ * placeholders so rendering is plain concatenation. "%%" renders as a literal
+ * percent sign; any other '%' is kept as is.
+ */
+public final class PromptTemplate {
+
+    private final String name;
+    private final String text;
+    private final String version;
+    private final String[] segments;
+    private final int literalLength;
+
+    public PromptTemplate(String name, String text) {
+        this.name = name;
+        this.text = text;
+        this.version = sha256(text).substring(0, 12);
+
+        List<String> parts = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '%' && i + 1 < text.length()) {
+                char next = text.charAt(i + 1);
+                if (next == 's') {
+                    parts.add(current.toString());
+                    current.setLength(0);
+                    i++;
+                    continue;
+                }
+                if (next == '%') {
+                    current.append('%');
+                    i++;
+                    continue;
+                }
+            }
+            current.append(c);
+        }
+        parts.add(current.toString());
+        this.segments = parts.toArray(new String[0]);
+        this.literalLength = parts.stream().mapToInt(String::length).sum();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return the raw template text as loaded
+     */
+    public String getText() {
+        return text;
+    }
+
+    /**
+     * @return a short content hash that changes whenever the template text does
+     */
+    public String getVersion() {
+        return version;
+    }
+
+    public int getPlaceholderCount() {
+        return segments.length - 1;
+    }
+
+    /**
+     * Fills the placeholders in order. Surplus arguments are ignored, as with
+     * String.format.
+     *
+     * @param args the values for each %s placeholder
+     * @return the rendered prompt
+     * @throws IllegalArgumentException if fewer arguments than placeholders are given
+     */
+    public String render(Object... args) {
+        int placeholders = getPlaceholderCount();
+        if (args.length < placeholders) {
+            throw new IllegalArgumentException("Prompt '" + name + "' expects " + placeholders
+                    + " arguments but got " + args.length);
+        }
+        if (placeholders == 0) {
+            return segments[0];
+        }
+
+        String[] values = new String[placeholders];
+        int length = literalLength;
+        for (int i = 0; i < placeholders; i++) {
+            values[i] = String.valueOf(args[i]);
+            length += values[i].length();
+        }
+
+        StringBuilder rendered = new StringBuilder(length);
+        for (int i = 0; i < placeholders; i++) {
+            rendered.append(segments[i]).append(values[i]);
+        }
+        return rendered.append(segments[placeholders]).toString();
+    }
+
+    private static String sha256(String value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
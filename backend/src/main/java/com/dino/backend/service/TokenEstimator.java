@@ -0,0 +1,45 @@
+package com.dino.backend.service;
+
+/**
+ * Cheap local approximation of Gemini's token count, used to keep prompts
+ * within budget without a countTokens round trip. Runs of letters and digits
+ * count as one token per four characters (rounded up), CJK ideographs and kana
+ * as one token each, and every other non-space character as one token.
+ */
+public final class TokenEstimator {
+
+    private TokenEstimator() {
+    }
+
+    public static int estimate(CharSequence text) {
+        if (text == null) {
+            return 0;
+        }
+        int tokens = 0;
+        int wordLength = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (isIdeographic(c)) {
+                tokens += (wordLength + 3) / 4 + 1;
+                wordLength = 0;
+            } else if (Character.isLetterOrDigit(c)) {
+                wordLength++;
+            } else {
+                tokens += (wordLength + 3) / 4;
+                wordLength = 0;
+                if (!Character.isWhitespace(c)) {
+                    tokens++;
+                }
+            }
+        }
+        return tokens + (wordLength + 3) / 4;
+    }
+
+    private static boolean isIdeographic(char c) {
+        Character.UnicodeBlock block = Character.UnicodeBlock.of(c);
+        return block == Character.UnicodeBlock.CJK_UNIFIED_IDEOGRAPHS
+                || block == Character.UnicodeBlock.HIRAGANA
+                || block == Character.UnicodeBlock.KATAKANA
+                || block == Character.UnicodeBlock.HANGUL_SYLLABLES;
+    }
+}
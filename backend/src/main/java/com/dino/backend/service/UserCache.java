@@ -0,0 +1,56 @@
+package com.dino.backend.service;
+
+import java.util.Optional;
+
+import org.springframework.stereotype.Service;
+
+import com.dino.backend.config.UserCacheProperties;
+import com.dino.backend.model.User;
+import com.dino.backend.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Bounded, time-limited cache of user records keyed by user ID, so resolving
+ * the caller of an authenticated request does not cost a database round trip.
+ *
+ * Cached instances are detached and shared between requests: treat them as
+ * read-only. Code that modifies a user must load it from UserRepository and
+ * call invalidate afterwards.
+ */
+@Service
+public class UserCache {
+
+    private final UserRepository userRepository;
+    private final Cache<Long, User> users;
+
+    public UserCache(UserRepository userRepository, UserCacheProperties properties, MeterRegistry meterRegistry) {
+        this.userRepository = userRepository;
+        this.users = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfterWrite(properties.getTtl())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, users, "users");
+    }
+
+    public Optional<User> get(Long userId) {
+        return Optional.ofNullable(users.get(userId, id -> userRepository.findById(id).orElse(null)));
+    }
+
+    /**
+     * Looks a user up by username, for tokens issued before they carried a user ID.
+     */
+    public Optional<User> getByUsername(String username) {
+        Optional<User> user = userRepository.findByUsername(username);
+        user.ifPresent(u -> users.put(u.getUserId(), u));
+        return user;
+    }
+
+    public void invalidate(Long userId) {
+        users.invalidate(userId);
+    }
+}
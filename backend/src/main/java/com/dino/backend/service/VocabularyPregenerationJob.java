@@ -0,0 +1,226 @@
+package com.dino.backend.service;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.dino.backend.config.VocabularyBatchProperties;
+import com.dino.backend.config.VocabularyPregenerationProperties;
+import com.dino.backend.model.VocabularyJobCheckpoint;
+import com.dino.backend.ratelimit.TokenBucket;
+import com.dino.backend.repository.UserRepository;
+import com.dino.backend.repository.VocabularyJobCheckpointRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Generates today's vocabulary for recently active users overnight, so that
+ * /api/vocabulary/daily finds a stored set instead of waiting on Gemini.
+ *
+ * Users are processed in ID order, a page at a time, by a small pool of
+ * workers that share one Gemini rate limit. After each page the last user ID
+ * is checkpointed, so a run interrupted by a restart resumes from there.
+ *
+ * The day's checkpoint row doubles as a lease: only the instance holding it
+ * runs, renewing it after every page, and another instance resumes from the
+ * checkpoint once a crashed holder's lease lapses.
+ */
+@Service
+public class VocabularyPregenerationJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(VocabularyPregenerationJob.class);
+
+    private static final String LANGUAGE = "English";
+
+    private enum Outcome { GENERATED, SKIPPED, FAILED }
+
+    private final UserRepository userRepository;
+    private final VocabularyService vocabularyService;
+    private final VocabularyJobCheckpointRepository checkpointRepository;
+    private final VocabularyPregenerationProperties properties;
+    private final TokenBucket rateLimiter;
+    // Identifies this instance as a lease owner
+    private final String instanceId = UUID.randomUUID().toString();
+
+    private final Counter generatedCounter;
+    private final Counter skippedCounter;
+    private final Counter failedCounter;
+    private final Timer generationTimer;
+    private final Timer runTimer;
+
+    public VocabularyPregenerationJob(UserRepository userRepository,
+                                      VocabularyService vocabularyService,
+                                      VocabularyJobCheckpointRepository checkpointRepository,
+                                      VocabularyPregenerationProperties properties,
+                                      VocabularyBatchProperties batchProperties,
+                                      MeterRegistry meterRegistry) {
+        this.userRepository = userRepository;
+        this.vocabularyService = vocabularyService;
+        this.checkpointRepository = checkpointRepository;
+        this.properties = properties;
+        // Permits are taken per user; with batching one Gemini request serves up to a batch of users
+        int usersPerRequest = batchProperties.isEnabled() ? Math.max(1, batchProperties.getMaxBatchSize()) : 1;
+        this.rateLimiter = new TokenBucket(properties.getRequestsPerSecond() * usersPerRequest, usersPerRequest);
+
+        this.generatedCounter = outcomeCounter(meterRegistry, "generated");
+        this.skippedCounter = outcomeCounter(meterRegistry, "skipped");
+        this.failedCounter = outcomeCounter(meterRegistry, "failed");
+        this.generationTimer = Timer.builder("vocabulary.pregeneration.generation")
+                .description("Time to generate and store one user's vocabulary set")
+                .register(meterRegistry);
+        this.runTimer = Timer.builder("vocabulary.pregeneration.run")
+                .description("Duration of pre-generation runs")
+                .register(meterRegistry);
+    }
+
+    private static Counter outcomeCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("vocabulary.pregeneration.users")
+                .description("Users processed by vocabulary pre-generation")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    @Scheduled(cron = "${app.vocabulary.pregeneration.cron:0 0 3 * * *}")
+    public void runScheduled() {
+        if (properties.isEnabled()) {
+            runTimer.record(this::run);
+        }
+    }
+
+    /**
+     * Pre-generates today's vocabulary for every active user not yet covered
+     * by today's checkpoint.
+     */
+    public void run() {
+        Date runDate = Date.valueOf(LocalDate.now());
+        if (!acquireLease(runDate)) {
+            logger.info("Vocabulary pre-generation for {} already completed or running on another instance", runDate);
+            return;
+        }
+        try {
+            runLeased(runDate);
+        } finally {
+            checkpointRepository.releaseLease(runDate, instanceId);
+        }
+    }
+
+    private boolean acquireLease(Date runDate) {
+        if (!checkpointRepository.existsById(runDate)) {
+            try {
+                checkpointRepository.saveAndFlush(
+                        new VocabularyJobCheckpoint(runDate, 0, 0, 0, 0, false, LocalDateTime.now(), null, null));
+            } catch (DataIntegrityViolationException e) {
+                // Another instance created the row first; compete for its lease below
+            }
+        }
+        LocalDateTime now = LocalDateTime.now();
+        return checkpointRepository.acquireLease(runDate, instanceId, now, now.plus(properties.getLeaseDuration())) == 1;
+    }
+
+    private boolean renewLease(Date runDate) {
+        return checkpointRepository.renewLease(runDate, instanceId,
+                LocalDateTime.now().plus(properties.getLeaseDuration())) == 1;
+    }
+
+    private void runLeased(Date runDate) {
+        VocabularyJobCheckpoint checkpoint = checkpointRepository.findById(runDate).orElseThrow();
+        if (checkpoint.getLastUserId() > 0) {
+            logger.info("Resuming vocabulary pre-generation for {} after userId={}", runDate, checkpoint.getLastUserId());
+        }
+
+        LocalDateTime since = LocalDateTime.now().minus(properties.getActiveWithin());
+        long startNanos = System.nanoTime();
+        int processed = 0;
+        boolean leaseLost = false;
+
+        try (ExecutorService workers = Executors.newFixedThreadPool(properties.getParallelism(),
+                Thread.ofVirtual().name("vocab-pregen-", 0).factory())) {
+            while (true) {
+                List<Long> userIds = userRepository.findActiveUserIds(
+                        since, checkpoint.getLastUserId(), PageRequest.of(0, properties.getPageSize()));
+                if (userIds.isEmpty()) {
+                    break;
+                }
+
+                List<Future<Outcome>> outcomes = userIds.stream()
+                        .map(userId -> workers.submit(() -> pregenerate(userId)))
+                        .toList();
+                for (Future<Outcome> outcome : outcomes) {
+                    switch (outcome.get()) {
+                        case GENERATED -> checkpoint.setGeneratedCount(checkpoint.getGeneratedCount() + 1);
+                        case SKIPPED -> checkpoint.setSkippedCount(checkpoint.getSkippedCount() + 1);
+                        case FAILED -> checkpoint.setFailedCount(checkpoint.getFailedCount() + 1);
+                    }
+                }
+
+                // A lapsed lease may have been taken over; its holder owns the checkpoint now
+                if (!renewLease(runDate)) {
+                    logger.warn("Lost the vocabulary pre-generation lease for {} after userId={}",
+                            runDate, checkpoint.getLastUserId());
+                    leaseLost = true;
+                    break;
+                }
+                checkpoint.setLastUserId(userIds.get(userIds.size() - 1));
+                checkpoint.setUpdatedAt(LocalDateTime.now());
+                checkpointRepository.save(checkpoint);
+                processed += userIds.size();
+            }
+
+            if (!leaseLost) {
+                checkpoint.setCompleted(true);
+                checkpoint.setUpdatedAt(LocalDateTime.now());
+                checkpointRepository.save(checkpoint);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.warn("Vocabulary pre-generation for {} interrupted after userId={}", runDate, checkpoint.getLastUserId());
+        } catch (ExecutionException e) {
+            // pregenerate handles its own failures; this is unexpected
+            logger.error("Vocabulary pre-generation for {} stopped after userId={}", runDate, checkpoint.getLastUserId(), e);
+        }
+
+        double seconds = Math.max(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos) / 1000.0, 0.001);
+        logger.info("Vocabulary pre-generation for {}: {} users this run ({} users/s); totals generated={}, skipped={}, failed={}",
+                runDate, processed, String.format("%.2f", processed / seconds),
+                checkpoint.getGeneratedCount(), checkpoint.getSkippedCount(), checkpoint.getFailedCount());
+    }
+
+    private Outcome pregenerate(Long userId) {
+        try {
+            if (vocabularyService.findDailyVocab(userId).isPresent()) {
+                skippedCounter.increment();
+                return Outcome.SKIPPED;
+            }
+            rateLimiter.acquire();
+            boolean generated = generationTimer.recordCallable(
+                    () -> vocabularyService.pregenerateDailyVocab(userId, LANGUAGE));
+            (generated ? generatedCounter : skippedCounter).increment();
+            return generated ? Outcome.GENERATED : Outcome.SKIPPED;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            failedCounter.increment();
+            return Outcome.FAILED;
+        } catch (Exception e) {
+            // Left for the interactive path to generate on demand
+            logger.warn("Vocabulary pre-generation failed for userId={}: {}", userId, e.getMessage());
+            failedCounter.increment();
+            return Outcome.FAILED;
+        }
+    }
+}
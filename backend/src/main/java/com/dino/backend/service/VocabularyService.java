@@ -1,54 +1,219 @@
 package com.dino.backend.service;
 
-import com.dino.backend.integration.gemini.GeminiAPIService;
-import com.dino.backend.model.UserMessage;
+import com.dino.backend.exception.GeminiCapacityExceededException;
+import com.dino.backend.integration.gemini.GeminiCallGate;
+import com.dino.backend.integration.gemini.VocabularyBatcher;
 import com.dino.backend.model.VocabularySet;
 import com.dino.backend.repository.MessageRepository;
 import com.dino.backend.repository.VocabularySetRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.sql.Date;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
 
 @Service
 public class VocabularyService {
 
     private static final Logger logger = LoggerFactory.getLogger(VocabularyService.class);
 
+    private static final int RECENT_MESSAGE_LIMIT = 20;
+
     private final VocabularySetRepository vocabularySetRepository;
     private final MessageRepository messageRepository;
-    private final GeminiAPIService geminiAPIService;
+    private final VocabularyBatcher vocabularyBatcher;
+    private final GeminiCallGate geminiCallGate;
+
+    // Today's set per user, in front of the repository; entries from earlier days are ignored.
+    // A hit is only served while its version matches the stored row, since another
+    // instance may have regenerated the set since it was cached
+    private final Cache<Long, VocabularySet> todaysSets = Caffeine.newBuilder()
+            .maximumSize(10_000)
+            .expireAfterWrite(Duration.ofDays(1))
+            .recordStats()
+            .build();
+
+    // Generations currently running, by user
+    private final ConcurrentMap<Long, CompletableFuture<VocabularySet>> inFlight = new ConcurrentHashMap<>();
 
     public VocabularyService(
             VocabularySetRepository vocabularySetRepository,
             MessageRepository messageRepository,
-            GeminiAPIService geminiAPIService) {
+            VocabularyBatcher vocabularyBatcher,
+            GeminiCallGate geminiCallGate,
+            MeterRegistry meterRegistry) {
         this.vocabularySetRepository = vocabularySetRepository;
         this.messageRepository = messageRepository;
-        this.geminiAPIService = geminiAPIService;
+        this.vocabularyBatcher = vocabularyBatcher;
+        this.geminiCallGate = geminiCallGate;
+        CaffeineCacheMetrics.monitor(meterRegistry, todaysSets, "dailyVocabulary");
+    }
+
+    /**
+     * Looks up today's vocabulary set for the user without generating one.
+     *
+     * @param userId the ID of the user
+     * @return today's vocabulary set, if it has been generated
+     */
+    public Optional<VocabularySet> findDailyVocab(Long userId) {
+        Date today = Date.valueOf(LocalDate.now());
+        VocabularySet cached = todaysSets.getIfPresent(userId);
+        if (cached != null && today.equals(cached.getDate())) {
+            // Reads one narrow column instead of the vocabulary JSON
+            Optional<Long> version = vocabularySetRepository.findVersionByUserIdAndDate(userId, today);
+            if (version.isPresent() && version.get() == cached.getVersion()) {
+                return Optional.of(cached);
+            }
+        }
+
+        Optional<VocabularySet> stored = vocabularySetRepository.findByUserIdAndDate(userId, today);
+        stored.ifPresent(set -> todaysSets.put(userId, set));
+        return stored;
+    }
+
+    /**
+     * Returns today's vocabulary set for the user, generating it only if none
+     * has been stored yet today.
+     *
+     * @param userId the ID of the user
+     * @param language the language the vocabulary is for
+     * @return a future completed with today's vocabulary set
+     * @throws GeminiCapacityExceededException if a generation is needed and no Gemini permit is available
+     */
+    public CompletableFuture<VocabularySet> getDailyVocab(Long userId, String language) {
+        return generateOnce(userId, language, false);
+    }
+
+    /**
+     * Replaces today's vocabulary set for the user with a newly generated one.
+     *
+     * @param userId the ID of the user
+     * @param language the language the vocabulary is for
+     * @return a future completed with the new vocabulary set
+     * @throws GeminiCapacityExceededException if no Gemini permit is available
+     */
+    public CompletableFuture<VocabularySet> regenerateDailyVocab(Long userId, String language) {
+        return generateOnce(userId, language, true);
+    }
+
+    /**
+     * Generates today's vocabulary set for the user ahead of time, unless one
+     * already exists. Unlike the interactive path, a failed generation is
+     * reported rather than replaced by the default vocabulary.
+     *
+     * @param userId the ID of the user
+     * @param language the language the vocabulary is for
+     * Runs on the caller's thread without a Gemini permit (the job paces
+     * itself), but through the same single-flight slot as the interactive
+     * path, so a user's request and the job never generate at the same time.
+     *
+     * @return true if a set was generated, false if one already existed or another caller generated it
+     * @throws RuntimeException if generation failed; nothing is stored
+     */
+    public boolean pregenerateDailyVocab(Long userId, String language) {
+        AtomicBoolean generated = new AtomicBoolean();
+        CompletableFuture<VocabularySet> generation = singleFlight(userId, () -> {
+            try {
+                Optional<VocabularySet> stored = findDailyVocab(userId);
+                if (stored.isPresent()) {
+                    return CompletableFuture.completedFuture(stored.get());
+                }
+                VocabularySet result = generateAndSave(userId, language, false);
+                todaysSets.put(userId, result);
+                generated.set(true);
+                return CompletableFuture.completedFuture(result);
+            } catch (RuntimeException e) {
+                return CompletableFuture.failedFuture(e);
+            }
+        });
+        try {
+            generation.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+        return generated.get();
+    }
+
+    /**
+     * Generates on a Gemini permit, taken only by the caller that starts the
+     * generation; callers that join a running one take none.
+     */
+    private CompletableFuture<VocabularySet> generateOnce(Long userId, String language, boolean force) {
+        return singleFlight(userId, () -> geminiCallGate.submit(() -> {
+            if (!force) {
+                // A generation may have finished between the caller's lookup and now
+                Optional<VocabularySet> stored = findDailyVocab(userId);
+                if (stored.isPresent()) {
+                    return stored.get();
+                }
+            }
+            VocabularySet result = generateAndSave(userId, language, true);
+            todaysSets.put(userId, result);
+            return result;
+        }));
     }
 
-    @Transactional
-    public VocabularySet getDailyVocab(Long userId, String language) {
+    /**
+     * Runs at most one generation per user at a time. Callers that arrive while
+     * one is running share its future instead of starting their own.
+     *
+     * @param start starts the generation; only called when none is running for the user
+     * @throws RuntimeException whatever start throws, e.g. GeminiCapacityExceededException
+     */
+    private CompletableFuture<VocabularySet> singleFlight(Long userId,
+                                                          Supplier<CompletableFuture<VocabularySet>> start) {
+        CompletableFuture<VocabularySet> generation = new CompletableFuture<>();
+        CompletableFuture<VocabularySet> running = inFlight.putIfAbsent(userId, generation);
+        if (running != null) {
+            return running;
+        }
+
+        try {
+            start.get().whenComplete((result, error) -> {
+                inFlight.remove(userId, generation);
+                if (error != null) {
+                    generation.completeExceptionally(error);
+                } else {
+                    generation.complete(result);
+                }
+            });
+        } catch (RuntimeException e) {
+            inFlight.remove(userId, generation);
+            generation.completeExceptionally(e);
+            throw e;
+        }
+        return generation;
+    }
+
+    private VocabularySet generateAndSave(Long userId, String language, boolean fallbackToDefault) {
         LocalDate today = LocalDate.now();
         Date sqlDate = Date.valueOf(today);
         
-        // Get ALL messages
-        List<String> recentMessages = messageRepository.findBySessionUserId(userId)
-                .stream()
-                .limit(20)
-                .map(msg -> msg.getContent())
-                .filter(content -> content != null && !content.trim().isEmpty())
-                .collect(Collectors.toList());
+        // Only the latest messages are needed; the database applies the limit
+        List<String> recentMessages = messageRepository.findRecentContentByUserId(
+                userId, PageRequest.of(0, RECENT_MESSAGE_LIMIT));
                 
         logger.info("Fetched {} recent messages for userId={}", recentMessages.size(), userId);
         
@@ -63,30 +228,12 @@ public class VocabularyService {
             logger.info("Generated default vocabulary for new user userId={}", userId);
         } else {
             try {
-                vocabJson = geminiAPIService.generateVocabulary(userId, recentMessages, language);
-                logger.info("Generated custom vocabulary based on {} messages for userId={}", 
-                            recentMessages.size(), userId);
-                
-                // Validate the generated JSON
-                if (vocabJson == null || vocabJson.equals("[]") || vocabJson.equals("{}")) {
-                    logger.warn("Generated vocabulary was empty. Using default instead for userId={}", userId);
-                    vocabJson = getDefaultVocabularyJson(language);
-                }
-                
-                // Try parsing to validate JSON structure
-                try {
-                    ObjectMapper mapper = new ObjectMapper();
-                    JsonNode root = mapper.readTree(vocabJson);
-                    if (!root.has("vocabulary") || root.get("vocabulary").size() == 0) {
-                        logger.warn("Generated JSON missing vocabulary array. Using default instead for userId={}", userId);
-                        vocabJson = getDefaultVocabularyJson(language);
-                    }
-                } catch (Exception e) {
-                    logger.warn("Generated JSON invalid. Using default instead for userId={}", userId);
-                    vocabJson = getDefaultVocabularyJson(language);
-                }
+                vocabJson = generateVocabularyJson(userId, recentMessages, language);
             } catch (Exception e) {
-                logger.error("Error generating vocabulary: {}", e.getMessage());
+                if (!fallbackToDefault) {
+                    throw e;
+                }
+                logger.warn("Error generating vocabulary: {}. Using default instead for userId={}", e.getMessage(), userId);
                 vocabJson = getDefaultVocabularyJson(language);
             }
         }
@@ -108,13 +255,52 @@ public class VocabularyService {
             logger.info("Creating new vocabulary set for userId={} on date={}", userId, sqlDate);
         }
     
-        VocabularySet savedSet = vocabularySetRepository.save(vocabularySet);
-        logger.info("Saved vocabulary set for userId={} on date={}", userId, sqlDate);
-    
-        return savedSet;
+        try {
+            VocabularySet savedSet = vocabularySetRepository.save(vocabularySet);
+            logger.info("Saved vocabulary set for userId={} on date={}", userId, sqlDate);
+            return savedSet;
+        } catch (DataIntegrityViolationException | OptimisticLockingFailureException e) {
+            // Another instance stored or replaced today's set first; serve that one
+            logger.info("Vocabulary set for userId={} on date={} was written concurrently", userId, sqlDate);
+            return vocabularySetRepository.findByUserIdAndDate(userId, sqlDate).orElseThrow(() -> e);
+        }
+    }
+
+    /**
+     * Asks Gemini for vocabulary based on the user's recent messages.
+     *
+     * @return the vocabulary JSON in the shape the client reads
+     * @throws IllegalStateException if Gemini returned no usable vocabulary
+     */
+    private String generateVocabularyJson(Long userId, List<String> recentMessages, String language) {
+        String vocabJson;
+        try {
+            // Shares a Gemini request with other users generating at the same time
+            vocabJson = vocabularyBatcher.submit(userId, recentMessages, language).join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+        logger.info("Generated custom vocabulary based on {} messages for userId={}",
+                    recentMessages.size(), userId);
+
+        JsonNode root;
+        try {
+            ObjectMapper mapper = new ObjectMapper();
+            root = mapper.readTree(vocabJson != null ? vocabJson : "");
+            // The prompt asks for a bare array; store it in the shape the client reads
+            if (root.isArray()) {
+                root = mapper.createObjectNode().set("vocabulary", root);
+                vocabJson = mapper.writeValueAsString(root);
+            }
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Generated vocabulary is not valid JSON", e);
+        }
+        if (!root.has("vocabulary") || root.get("vocabulary").size() == 0) {
+            throw new IllegalStateException("Generated vocabulary is empty");
+        }
+        return vocabJson;
     }
 
-    
     private String getDefaultVocabularyJson(String language) {
         // Basic beginner vocabulary for new users
         return "{ \"vocabulary\": [" +
@@ -0,0 +1,3 @@
+-- Rolling conversation summary used to keep prompts within the token budget
+ALTER TABLE dino_chat_session ADD COLUMN conversation_summary TEXT;
+ALTER TABLE dino_chat_session ADD COLUMN summarized_message_count INTEGER NOT NULL DEFAULT 0;
@@ -0,0 +1,5 @@
+-- Keyset pagination of a user's sessions, newest first
+CREATE INDEX idx_session_user_id_session_id ON dino_chat_session (user_id, session_id DESC);
+
+-- Per-session message count and latest message lookups
+CREATE INDEX idx_message_session_id_message_id ON dino_message (session_id, message_id);
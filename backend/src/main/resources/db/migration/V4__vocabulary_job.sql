@@ -0,0 +1,14 @@
+-- Progress of the nightly vocabulary pre-generation, one row per run day
+CREATE TABLE dino_vocabulary_job (
+    run_date DATE PRIMARY KEY,
+    last_user_id BIGINT NOT NULL DEFAULT 0,
+    generated_count INTEGER NOT NULL DEFAULT 0,
+    skipped_count INTEGER NOT NULL DEFAULT 0,
+    failed_count INTEGER NOT NULL DEFAULT 0,
+    completed BOOLEAN NOT NULL DEFAULT FALSE,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Finding recently active users
+CREATE INDEX idx_user_last_login ON dino_user (last_login);
+CREATE INDEX idx_session_start_time ON dino_chat_session (start_time);
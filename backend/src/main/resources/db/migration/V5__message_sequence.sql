@@ -0,0 +1,8 @@
+-- Message IDs come from a sequence handed out in blocks of 50 (allocationSize
+-- on Message), so Hibernate can batch inserts and assign IDs before inserting
+CREATE SEQUENCE dino_message_seq INCREMENT BY 50;
+SELECT setval('dino_message_seq', (SELECT COALESCE(MAX(message_id), 0) + 50 FROM dino_message));
+
+-- Every insert now supplies its ID; the SERIAL default would collide with the blocks
+ALTER TABLE dino_message ALTER COLUMN message_id DROP DEFAULT;
+DROP SEQUENCE dino_message_message_id_seq;
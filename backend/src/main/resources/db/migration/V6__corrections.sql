@@ -0,0 +1,31 @@
+-- Grammar corrections parsed from Dino's feedback, one row per
+-- Original/Correction pair; IDs come in blocks of 50 like dino_message's
+CREATE SEQUENCE dino_correction_seq INCREMENT BY 50;
+
+CREATE TABLE dino_correction (
+    correction_id BIGINT PRIMARY KEY,
+    message_id BIGINT NOT NULL,
+    user_id BIGINT NOT NULL,
+    original_text TEXT NOT NULL,
+    corrected_text TEXT NOT NULL,
+    explanation TEXT,
+    learning_language VARCHAR(255) NOT NULL,
+    native_language VARCHAR(255),
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    FOREIGN KEY (message_id) REFERENCES dino_message(message_id) ON DELETE CASCADE,
+    FOREIGN KEY (user_id) REFERENCES dino_user(user_id) ON DELETE CASCADE
+);
+
+-- Error categories of each correction (a correction can have several)
+CREATE TABLE dino_correction_category (
+    correction_id BIGINT NOT NULL,
+    category VARCHAR(30) NOT NULL,
+    PRIMARY KEY (correction_id, category),
+    FOREIGN KEY (correction_id) REFERENCES dino_correction(correction_id) ON DELETE CASCADE
+);
+
+-- A user's recent corrections, and deleting a session's corrections
+CREATE INDEX idx_correction_user_id ON dino_correction (user_id, correction_id);
+CREATE INDEX idx_correction_message_id ON dino_correction (message_id);
+-- A user's corrections in one category
+CREATE INDEX idx_correction_category ON dino_correction_category (category, correction_id);
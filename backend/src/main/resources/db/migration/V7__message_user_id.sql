@@ -0,0 +1,12 @@
+-- A user's most recent messages (vocabulary generation) without joining
+-- through every one of their sessions: the owner is copied onto each message
+ALTER TABLE dino_message ADD COLUMN user_id BIGINT;
+
+UPDATE dino_message m SET user_id = s.user_id
+FROM dino_chat_session s
+WHERE s.session_id = m.session_id;
+
+ALTER TABLE dino_message ALTER COLUMN user_id SET NOT NULL;
+ALTER TABLE dino_message ADD FOREIGN KEY (user_id) REFERENCES dino_user(user_id) ON DELETE CASCADE;
+
+CREATE INDEX idx_message_user_id_message_id ON dino_message (user_id, message_id DESC);
@@ -0,0 +1,3 @@
+-- Incremented on every update of a set (JPA @Version), so an instance can tell
+-- its cached copy was regenerated elsewhere by reading this column alone
+ALTER TABLE dino_vocabulary_set ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
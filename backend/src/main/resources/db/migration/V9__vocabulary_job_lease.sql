@@ -0,0 +1,4 @@
+-- Lease on a day's pre-generation run, so only one instance works through the
+-- users at a time; a lapsed lease (crashed instance) can be taken over
+ALTER TABLE dino_vocabulary_job ADD COLUMN lease_owner VARCHAR(100);
+ALTER TABLE dino_vocabulary_job ADD COLUMN lease_until TIMESTAMP;
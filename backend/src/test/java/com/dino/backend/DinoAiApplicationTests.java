@@ -12,7 +12,7 @@ import org.springframework.test.context.TestPropertySource;
     "spring.datasource.driver-class-name=org.h2.Driver",
     "spring.jpa.hibernate.ddl-auto=create-drop",
     "spring.flyway.enabled=false",
-    "jwt.secret=testsecretkey",
+    "jwt.secret=testsecretkeytestsecretkeytestsecretkey",
     "jwt.expiration=3600000"
 })
 public class DinoAiApplicationTests {
@@ -0,0 +1,125 @@
+package com.dino.backend.dto;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.dino.backend.model.BotMessage;
+import com.dino.backend.model.ChatSession;
+import com.dino.backend.model.Message;
+import com.dino.backend.model.User;
+import com.dino.backend.model.UserMessage;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/**
+ * Jackson (de)serialisation of the request and response bodies on the chat
+ * paths: a PromptRequest with client-side history and a ChatSession with its
+ * messages. The mapper is configured the way Spring Boot configures the one
+ * behind the controllers.
+ *
+ * Run with {@code mvn test -Pjmh -Djmh.args=JsonMappingBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonMappingBenchmark {
+
+    @Param({"4", "40"})
+    private int messageCount;
+
+    private ObjectMapper mapper;
+    private PromptRequest promptRequest;
+    private String promptRequestJson;
+    private ChatSession chatSession;
+    private String chatSessionJson;
+
+    @Setup
+    public void setUp() throws Exception {
+        mapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+
+        User user = new User();
+        user.setUserId(42L);
+        user.setUsername("benchmark-user");
+        user.setEmail("benchmark@example.com");
+        user.setLearningLanguage("Spanish");
+        user.setNativeLanguage("English");
+        user.setCreatedAt(LocalDateTime.now());
+
+        chatSession = new ChatSession();
+        chatSession.setSessionId(7L);
+        chatSession.setUser(user);
+        chatSession.setLanguageUsed("Spanish");
+        chatSession.setSessionTopic("Travel");
+        chatSession.setStartTime(LocalDateTime.now());
+        List<Message> messages = new ArrayList<>();
+        List<PromptRequest.Message> promptMessages = new ArrayList<>();
+        for (int i = 0; i < messageCount; i++) {
+            Message message;
+            if (i % 2 == 0) {
+                message = new UserMessage();
+                message.setContent("Ayer fui al mercado y compré muchas frutas para mi familia " + i);
+            } else {
+                BotMessage bot = new BotMessage();
+                bot.setContent("¡Qué bien! ¿Qué frutas compraste? Me encantan las naranjas " + i);
+                bot.setCorrectedContent("[Original: fui al mercado] [Correction: fui al mercado] [Explanation: correct]");
+                message = bot;
+            }
+            message.setMessageId((long) i);
+            message.setChatSession(chatSession);
+            message.setTimestamp(LocalDateTime.now());
+            messages.add(message);
+            promptMessages.add(new PromptRequest.Message((long) i, 7L, i % 2 == 0 ? "user" : "bot",
+                    message.getContent(), message.getTimestamp().toString(), null));
+        }
+        chatSession.setMessages(messages);
+        chatSessionJson = mapper.writeValueAsString(chatSession);
+
+        promptRequest = new PromptRequest();
+        promptRequest.setSessionId(7L);
+        promptRequest.setUserId(42L);
+        promptRequest.setLanguageUsed("Spanish");
+        promptRequest.setSessionTopic("Travel");
+        promptRequest.setMessages(promptMessages);
+        promptRequestJson = mapper.writeValueAsString(promptRequest);
+    }
+
+    @Benchmark
+    public String writePromptRequest() throws Exception {
+        return mapper.writeValueAsString(promptRequest);
+    }
+
+    @Benchmark
+    public PromptRequest readPromptRequest() throws Exception {
+        return mapper.readValue(promptRequestJson, PromptRequest.class);
+    }
+
+    @Benchmark
+    public String writeChatSession() throws Exception {
+        return mapper.writeValueAsString(chatSession);
+    }
+
+    @Benchmark
+    public ChatSession readChatSession() throws Exception {
+        return mapper.readValue(chatSessionJson, ChatSession.class);
+    }
+}
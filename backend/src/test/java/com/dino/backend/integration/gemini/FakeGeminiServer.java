@@ -0,0 +1,307 @@
+package com.dino.backend.integration.gemini;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * In-process stand-in for the Gemini REST API, for tests and offline load
+ * runs. It accepts the same {@code contents} request body on any path ending
+ * in {@code :generateContent} or {@code :streamGenerateContent} and answers
+ * with {@code candidates} in the same shape, with configurable latency,
+ * injected errors and canned replies.
+ *
+ * Chat prompts get a {"conversation", "feedback"} JSON reply, vocabulary
+ * prompts a fenced JSON array, and batch vocabulary prompts an object keyed by
+ * the learner keys found in the prompt, citing each learner's first line as
+ * evidence.
+ *
+ * Point the application at it with
+ * {@code gemini.flash.api.url=}{@link #generateUrl()}, or run {@link #main}
+ * from the test classpath to serve a fixed port.
+ */
+public final class FakeGeminiServer implements AutoCloseable {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    // The learners JSON array sits on a line of its own in batch prompts
+    private static final Pattern LEARNERS = Pattern.compile("^\\[\\{.*\\}\\]$", Pattern.MULTILINE);
+
+    /**
+     * Samples a simulated upstream processing time.
+     */
+    @FunctionalInterface
+    public interface Latency {
+
+        Duration next();
+
+        static Latency none() {
+            return () -> Duration.ZERO;
+        }
+
+        static Latency fixed(Duration duration) {
+            return () -> duration;
+        }
+
+        static Latency uniform(Duration min, Duration max) {
+            return () -> Duration.ofNanos(ThreadLocalRandom.current().nextLong(min.toNanos(), max.toNanos() + 1));
+        }
+
+        /**
+         * Long-tailed latency: exp(N(ln(median), sigma)), capped at max.
+         */
+        static Latency logNormal(Duration median, double sigma, Duration max) {
+            return () -> {
+                double nanos = median.toNanos() * Math.exp(sigma * ThreadLocalRandom.current().nextGaussian());
+                return Duration.ofNanos((long) Math.min(nanos, max.toNanos()));
+            };
+        }
+    }
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final AtomicInteger requests = new AtomicInteger();
+    private final AtomicInteger errors = new AtomicInteger();
+    private final AtomicInteger failuresRemaining = new AtomicInteger();
+
+    private volatile Latency latency = Latency.none();
+    private volatile double errorRate;
+    private volatile int errorStatus = 503;
+    private volatile int streamChunks = 4;
+    private volatile Duration chunkDelay = Duration.ofMillis(20);
+    private volatile String conversation = "¡Hola! ¿Qué tal tu día?";
+    private volatile String feedback = "[No Correction Needed: Your sentence is grammatically correct! Great job!]";
+    private volatile List<Map<String, String>> vocabulary = List.of(
+            Map.of("word", "hola", "definition", "A greeting used to say hi."),
+            Map.of("word", "amigo", "definition", "A person you like and trust."));
+
+    private FakeGeminiServer(int port) throws IOException {
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", port), 0);
+        this.executor = Executors.newVirtualThreadPerTaskExecutor();
+        server.setExecutor(executor);
+        server.createContext("/", this::handle);
+    }
+
+    /**
+     * Starts a server on an ephemeral port.
+     */
+    public static FakeGeminiServer start() throws IOException {
+        return start(0);
+    }
+
+    public static FakeGeminiServer start(int port) throws IOException {
+        FakeGeminiServer fake = new FakeGeminiServer(port);
+        fake.server.start();
+        return fake;
+    }
+
+    public FakeGeminiServer latency(Latency latency) {
+        this.latency = latency;
+        return this;
+    }
+
+    /**
+     * Fails this fraction of requests with the error status.
+     */
+    public FakeGeminiServer errorRate(double errorRate) {
+        this.errorRate = errorRate;
+        return this;
+    }
+
+    public FakeGeminiServer errorStatus(int errorStatus) {
+        this.errorStatus = errorStatus;
+        return this;
+    }
+
+    /**
+     * Fails exactly the next n requests with the error status.
+     */
+    public FakeGeminiServer failNext(int n) {
+        failuresRemaining.set(n);
+        return this;
+    }
+
+    public FakeGeminiServer streamChunks(int streamChunks, Duration chunkDelay) {
+        this.streamChunks = Math.max(1, streamChunks);
+        this.chunkDelay = chunkDelay;
+        return this;
+    }
+
+    public FakeGeminiServer reply(String conversation, String feedback) {
+        this.conversation = conversation;
+        this.feedback = feedback;
+        return this;
+    }
+
+    public FakeGeminiServer vocabulary(List<Map<String, String>> vocabulary) {
+        this.vocabulary = vocabulary;
+        return this;
+    }
+
+    public String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    /**
+     * @return a URL in the form of gemini.flash.api.url
+     */
+    public String generateUrl() {
+        return baseUrl() + "/v1beta/models/gemini-fake:generateContent";
+    }
+
+    public int requestCount() {
+        return requests.get();
+    }
+
+    public int errorCount() {
+        return errors.get();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            requests.incrementAndGet();
+            String path = exchange.getRequestURI().getPath();
+            boolean stream = path.endsWith(":streamGenerateContent");
+            if (!"POST".equals(exchange.getRequestMethod()) || !(stream || path.endsWith(":generateContent"))) {
+                send(exchange, 404, "application/json", "{\"error\":{\"code\":404,\"message\":\"Not found\"}}");
+                return;
+            }
+
+            String prompt = promptText(exchange.getRequestBody());
+            sleep(latency.next());
+
+            if (shouldFail()) {
+                errors.incrementAndGet();
+                if (errorStatus == 429) {
+                    exchange.getResponseHeaders().add("Retry-After", "1");
+                }
+                send(exchange, errorStatus, "application/json",
+                        "{\"error\":{\"code\":" + errorStatus + ",\"message\":\"Injected failure\"}}");
+                return;
+            }
+
+            String text = replyText(prompt);
+            if (stream) {
+                stream(exchange, text);
+            } else {
+                send(exchange, 200, "application/json", candidates(text));
+            }
+        }
+    }
+
+    private boolean shouldFail() {
+        if (failuresRemaining.getAndUpdate(n -> n > 0 ? n - 1 : 0) > 0) {
+            return true;
+        }
+        return errorRate > 0 && ThreadLocalRandom.current().nextDouble() < errorRate;
+    }
+
+    private void stream(HttpExchange exchange, String text) throws IOException {
+        exchange.getResponseHeaders().add("Content-Type", "text/event-stream");
+        exchange.sendResponseHeaders(200, 0);
+        OutputStream body = exchange.getResponseBody();
+        int chunks = Math.min(streamChunks, Math.max(1, text.length()));
+        int size = (text.length() + chunks - 1) / chunks;
+        for (int start = 0; start < text.length(); start += size) {
+            String piece = text.substring(start, Math.min(text.length(), start + size));
+            body.write(("data: " + candidates(piece) + "\r\n\r\n").getBytes(StandardCharsets.UTF_8));
+            body.flush();
+            if (start + size < text.length()) {
+                sleep(chunkDelay);
+            }
+        }
+    }
+
+    private String replyText(String prompt) throws IOException {
+        Matcher learners = LEARNERS.matcher(prompt);
+        if (prompt.contains("learner keys") && learners.find()) {
+            Map<String, Object> batch = new LinkedHashMap<>();
+            for (JsonNode learner : MAPPER.readTree(learners.group())) {
+                String evidence = learner.path("history").asText().lines().findFirst().orElse("");
+                batch.put(learner.path("learner").asText(), Map.of("evidence", evidence, "vocabulary", vocabulary));
+            }
+            return MAPPER.writeValueAsString(batch);
+        }
+        if (prompt.contains("vocabulary words")) {
+            return "```json\n" + MAPPER.writeValueAsString(vocabulary) + "\n```";
+        }
+        return MAPPER.writeValueAsString(Map.of("conversation", conversation, "feedback", feedback));
+    }
+
+    private static String promptText(InputStream requestBody) throws IOException {
+        JsonNode root = MAPPER.readTree(requestBody.readAllBytes());
+        List<String> texts = new ArrayList<>();
+        for (JsonNode content : root.path("contents")) {
+            for (Iterator<JsonNode> parts = content.path("parts").elements(); parts.hasNext(); ) {
+                texts.add(parts.next().path("text").asText(""));
+            }
+        }
+        return String.join("\n", texts);
+    }
+
+    private static String candidates(String text) throws IOException {
+        return MAPPER.writeValueAsString(Map.of("candidates", List.of(Map.of(
+                "content", Map.of("role", "model", "parts", List.of(Map.of("text", text))),
+                "finishReason", "STOP"))));
+    }
+
+    private static void send(HttpExchange exchange, int status, String contentType, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", contentType);
+        exchange.sendResponseHeaders(status, bytes.length);
+        exchange.getResponseBody().write(bytes);
+    }
+
+    private static void sleep(Duration duration) {
+        if (duration.isZero() || duration.isNegative()) {
+            return;
+        }
+        try {
+            Thread.sleep(duration);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Serves until interrupted. Arguments: port (default 8089), median latency
+     * in ms (default 800), error rate (default 0).
+     */
+    public static void main(String[] args) throws Exception {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : 8089;
+        long medianMillis = args.length > 1 ? Long.parseLong(args[1]) : 800;
+        double errorRate = args.length > 2 ? Double.parseDouble(args[2]) : 0;
+
+        try (FakeGeminiServer fake = start(port)
+                .latency(Latency.logNormal(Duration.ofMillis(medianMillis), 0.5, Duration.ofSeconds(30)))
+                .errorRate(errorRate)) {
+            System.out.println("Fake Gemini listening; set gemini.flash.api.url=" + fake.generateUrl());
+            new CountDownLatch(1).await();
+        }
+    }
+}
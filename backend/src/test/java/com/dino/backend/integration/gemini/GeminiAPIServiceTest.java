@@ -0,0 +1,123 @@
+package com.dino.backend.integration.gemini;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestTemplate;
+
+import com.dino.backend.config.PromptProperties;
+import com.dino.backend.dto.ChatReply;
+import com.dino.backend.service.ChatReplyParser;
+import com.dino.backend.service.PromptRegistry;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+
+/**
+ * Exercises GeminiAPIService, including its resilience layer, against the
+ * in-process FakeGeminiServer.
+ */
+class GeminiAPIServiceTest {
+
+    private FakeGeminiServer fake;
+    private GeminiAPIService service;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        fake = FakeGeminiServer.start()
+                .reply("¡Muy bien!", "[Original: Yo va] [Correction: Yo voy] [Explanation: first person]");
+
+        GeminiAPIProperties properties = new GeminiAPIProperties();
+        properties.setUrl(fake.generateUrl());
+        properties.setKey("test-key");
+
+        GeminiResilienceProperties resilienceProperties = new GeminiResilienceProperties();
+        resilienceProperties.setInitialBackoff(Duration.ofMillis(1));
+        resilienceProperties.setMaxBackoff(Duration.ofMillis(5));
+
+        PromptRegistry promptRegistry = new PromptRegistry(new PathMatchingResourcePatternResolver(), new PromptProperties());
+        promptRegistry.loadAll();
+
+        meterRegistry = new SimpleMeterRegistry();
+        service = new GeminiAPIService(new RestTemplate(), promptRegistry, properties,
+                new GeminiResilience(resilienceProperties, meterRegistry, new GeminiCallGate(properties)),
+                new GeminiMetrics(meterRegistry, ObservationRegistry.NOOP));
+    }
+
+    @AfterEach
+    void tearDown() {
+        fake.close();
+    }
+
+    @Test
+    void parsesGenerateContentReply() {
+        ChatReply reply = ChatReplyParser.parse(ChatReplyParser.modelText(service.getResponse("Yo va al cine")));
+
+        assertEquals("¡Muy bien!", reply.getConversation());
+        assertEquals("[Original: Yo va] [Correction: Yo voy] [Explanation: first person]", reply.getFeedback());
+        assertEquals(1, meterRegistry.get("gemini.api.requests")
+                .tags("method", "getResponse", "outcome", "success").timer().count());
+    }
+
+    @Test
+    void streamsChunksInOrder() {
+        fake.streamChunks(5, Duration.ofMillis(1));
+        List<String> chunks = new ArrayList<>();
+
+        String fullText = service.streamResponse("Yo va al cine", chunks::add);
+
+        assertTrue(chunks.size() > 1);
+        assertEquals(fullText, String.join("", chunks));
+        assertEquals("¡Muy bien!", ChatReplyParser.parse(fullText).getConversation());
+    }
+
+    @Test
+    void retriesRetryableStatuses() {
+        fake.errorStatus(503).failNext(2);
+
+        service.getResponse("Hola");
+
+        assertEquals(3, fake.requestCount());
+    }
+
+    @Test
+    void doesNotRetryClientErrors() {
+        fake.errorStatus(400).failNext(1);
+
+        assertThrows(HttpClientErrorException.class, () -> service.getResponse("Hola"));
+        assertEquals(1, fake.requestCount());
+        assertEquals(1, meterRegistry.get("gemini.api.requests")
+                .tags("method", "getResponse", "outcome", "client_error").timer().count());
+    }
+
+    @Test
+    void splitsBatchVocabularyByUser() throws Exception {
+        Map<Long, String> vocabulary = service.generateVocabularyBatch(
+                Map.of(7L, List.of("Hola"), 9L, List.of("Adiós")), "Spanish");
+
+        assertEquals(2, vocabulary.size());
+        assertTrue(vocabulary.get(7L).contains("\"hola\""));
+    }
+
+    @Test
+    void dropsBatchVocabularyThatCannotBeAttributed() throws Exception {
+        // The fake cites each learner's first line; user 7's also occurs in user 9's history
+        Map<Long, String> vocabulary = service.generateVocabularyBatch(
+                Map.of(7L, List.of("Hola"), 9L, List.of("Buenos días", "Hola")), "Spanish");
+
+        assertEquals(Set.of(9L), vocabulary.keySet());
+    }
+}
@@ -0,0 +1,182 @@
+package com.dino.backend.integration.gemini;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Hedging in GeminiResilience: a second attempt is raced against a primary
+ * that is slower than the recent latency percentile.
+ */
+class GeminiResilienceTest {
+
+    private static final String ENDPOINT = "generateContent";
+
+    private SimpleMeterRegistry meterRegistry;
+    private GeminiCallGate callGate;
+    private GeminiResilience resilience;
+
+    @BeforeEach
+    void setUp() {
+        GeminiResilienceProperties properties = new GeminiResilienceProperties();
+        properties.setHedgingEnabled(true);
+        properties.setHedgeMinSamples(1);
+        properties.setMinHedgeDelay(Duration.ofMillis(20));
+        properties.setMaxAttempts(1);
+
+        meterRegistry = new SimpleMeterRegistry();
+        callGate = new GeminiCallGate(new GeminiAPIProperties());
+        resilience = new GeminiResilience(properties, meterRegistry, callGate);
+
+        // Enough fast calls for the latency percentile to be computed
+        for (int i = 0; i < 32; i++) {
+            resilience.execute(ENDPOINT, true, () -> true, () -> "warm-up");
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        resilience.shutdown();
+        callGate.destroy();
+    }
+
+    @Test
+    void hedgeWinsAgainstSlowPrimary() {
+        AtomicInteger attempts = new AtomicInteger();
+        Supplier<String> call = () -> {
+            if (attempts.getAndIncrement() == 0) {
+                sleep(5_000);
+                return "primary";
+            }
+            return "hedge";
+        };
+
+        String result = assertTimeoutPreemptively(Duration.ofSeconds(2),
+                () -> resilience.execute(ENDPOINT, true, () -> true, call));
+
+        assertEquals("hedge", result);
+        assertEquals(2, attempts.get());
+        assertEquals(1, hedges("sent"));
+        assertEquals(1, hedges("won"));
+    }
+
+    @Test
+    void primaryStillWinsWhenItFinishesFirst() {
+        AtomicInteger attempts = new AtomicInteger();
+        Supplier<String> call = () -> {
+            if (attempts.getAndIncrement() == 0) {
+                sleep(60);
+                return "primary";
+            }
+            sleep(5_000);
+            return "hedge";
+        };
+
+        String result = assertTimeoutPreemptively(Duration.ofSeconds(2),
+                () -> resilience.execute(ENDPOINT, true, () -> true, call));
+
+        assertEquals("primary", result);
+        assertEquals(1, hedges("sent"));
+        assertEquals(0, hedges("won"));
+    }
+
+    @Test
+    void failsOnlyWhenBothAttemptsFail() {
+        AtomicInteger attempts = new AtomicInteger();
+        Supplier<String> call = () -> {
+            if (attempts.getAndIncrement() == 0) {
+                sleep(60);
+                throw new IllegalStateException("primary failed");
+            }
+            sleep(100);
+            throw new IllegalStateException("hedge failed");
+        };
+
+        IllegalStateException e = assertTimeoutPreemptively(Duration.ofSeconds(2),
+                () -> assertThrows(IllegalStateException.class,
+                        () -> resilience.execute(ENDPOINT, true, () -> true, call)));
+
+        assertTrue(Set.of("primary failed", "hedge failed").contains(e.getMessage()));
+        assertEquals(2, attempts.get());
+        assertEquals(0, hedges("won"));
+    }
+
+    @Test
+    void skipsHedgeWhenNoPermitIsFree() {
+        while (callGate.tryAcquire()) {
+            // Every permit is in use by other calls
+        }
+        AtomicInteger attempts = new AtomicInteger();
+        Supplier<String> call = () -> {
+            attempts.incrementAndGet();
+            sleep(100);
+            return "primary";
+        };
+
+        String result = assertTimeoutPreemptively(Duration.ofSeconds(2),
+                () -> resilience.execute(ENDPOINT, true, () -> true, call));
+
+        assertEquals("primary", result);
+        assertEquals(1, attempts.get());
+        assertEquals(0, hedges("sent"));
+        assertEquals(1, hedges("skipped"));
+    }
+
+    @Test
+    void returnsTheHedgePermit() {
+        int available = callGate.getAvailablePermits();
+        AtomicInteger attempts = new AtomicInteger();
+        Supplier<String> call = () -> {
+            if (attempts.getAndIncrement() == 0) {
+                sleep(200);
+                return "primary";
+            }
+            return "hedge";
+        };
+
+        resilience.execute(ENDPOINT, true, () -> true, call);
+
+        assertEquals(1, hedges("sent"));
+        assertEquals(available, callGate.getAvailablePermits());
+    }
+
+    @Test
+    void doesNotHedgeNonIdempotentCalls() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        String result = resilience.execute(ENDPOINT, false, () -> true, () -> {
+            attempts.incrementAndGet();
+            sleep(60);
+            return "only";
+        });
+
+        assertEquals("only", result);
+        assertEquals(1, attempts.get());
+        assertEquals(0, hedges("sent"));
+    }
+
+    private double hedges(String outcome) {
+        return meterRegistry.get("gemini.hedges").tags("endpoint", ENDPOINT, "outcome", outcome).counter().count();
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            // Cancelled by the losing side of the race
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.dino.backend.integration.gemini;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Extraction of the vocabulary array from a generateContent response.
+ *
+ * Run with {@code mvn test -Pjmh -Djmh.args=GeminiResponseBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GeminiResponseBenchmark {
+
+    private String vocabularyResponse;
+
+    @Setup
+    public void setUp() throws Exception {
+        StringBuilder words = new StringBuilder("[\n");
+        for (int i = 0; i < 10; i++) {
+            words.append(String.format("  {\"word\": \"palabra%d\", \"definition\": \"Una palabra de ejemplo número %d, con su definición.\"}%s%n",
+                    i, i, i < 9 ? "," : ""));
+        }
+        words.append("]");
+        String text = "```json\n" + words + "\n```";
+        vocabularyResponse = new ObjectMapper().writeValueAsString(Map.of("candidates", List.of(
+                Map.of("content", Map.of("parts", List.of(Map.of("text", text)))))));
+    }
+
+    @Benchmark
+    public String extractJsonArray() {
+        return GeminiAPIService.extractJsonArray(vocabularyResponse);
+    }
+}
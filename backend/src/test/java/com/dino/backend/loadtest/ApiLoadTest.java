@@ -0,0 +1,295 @@
+package com.dino.backend.loadtest;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.TestPropertySource;
+
+import com.dino.backend.integration.gemini.FakeGeminiServer;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/**
+ * End-to-end load run against the full application on H2 with Gemini stubbed
+ * by {@link FakeGeminiServer}. Virtual users sign up and log in, then loop over
+ * a weighted mix of session starts, chat turns, message saves, session listing
+ * and daily vocabulary until the run ends. Per-endpoint RPS, latency
+ * percentiles and error rates are written to
+ * {@code target/load-test/report.json} and compared against
+ * {@code src/test/resources/load-test/baseline.json}.
+ *
+ * Excluded from the default build; run with {@code mvn test -Pload-test}.
+ * Tunable through system properties:
+ * <ul>
+ *   <li>{@code loadtest.users} concurrent virtual users (default 20)</li>
+ *   <li>{@code loadtest.warmup} / {@code loadtest.duration} ISO-8601 durations (default PT5S / PT30S)</li>
+ *   <li>{@code loadtest.thinkTime} maximum pause between a user's requests (default PT0.05S)</li>
+ *   <li>{@code loadtest.geminiMedianMs} median stubbed Gemini latency (default 50)</li>
+ *   <li>{@code loadtest.tolerance} allowed relative regression (default 0.5)</li>
+ *   <li>{@code loadtest.updateBaseline=true} overwrite the baseline with this run instead of comparing</li>
+ * </ul>
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@TestPropertySource(properties = {
+    "spring.datasource.url=jdbc:h2:mem:loadtest;DB_CLOSE_DELAY=-1",
+    "spring.datasource.username=sa",
+    "spring.datasource.password=",
+    "spring.datasource.driver-class-name=org.h2.Driver",
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.flyway.enabled=false",
+    "jwt.secret=testsecretkeytestsecretkeytestsecretkey",
+    "jwt.expiration=3600000",
+    "gemini.flash.api.key=load-test",
+    // Measure the application, not the per-user throttle in front of it
+    "app.rate-limit.enabled=false",
+    "app.vocabulary.pregeneration.enabled=false",
+    "logging.level.com.dino.backend=WARN"
+})
+class ApiLoadTest {
+
+    private static final Path REPORT = Path.of("target", "load-test", "report.json");
+    private static final Path BASELINE = Path.of("src", "test", "resources", "load-test", "baseline.json");
+
+    private static final String LOGIN = "POST /auth/login";
+    private static final String START_SESSION = "POST /api/sessions/start";
+    private static final String TURN = "POST /api/sessions/{id}/turn";
+    private static final String SAVE_MESSAGE = "POST /api/messages";
+    private static final String LIST_SESSIONS = "GET /api/sessions/user/{id}";
+    private static final String DAILY_VOCABULARY = "GET /api/vocabulary/daily/{id}";
+
+    private static final String[] SENTENCES = {
+        "Yo va al cine con mis amigos",
+        "Ayer comí una manzana muy grande",
+        "Me gusta mucho la playa en verano",
+        "¿Dónde está la estación de tren?",
+        "Mi hermana tiene dos gatos y un perro",
+        "Quiero aprender a cocinar paella"
+    };
+
+    private static final ObjectMapper MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    private static final int USERS = Integer.getInteger("loadtest.users", 20);
+    private static final Duration WARMUP = Duration.parse(System.getProperty("loadtest.warmup", "PT5S"));
+    private static final Duration DURATION = Duration.parse(System.getProperty("loadtest.duration", "PT30S"));
+    private static final Duration THINK_TIME = Duration.parse(System.getProperty("loadtest.thinkTime", "PT0.05S"));
+    private static final long GEMINI_MEDIAN_MILLIS = Long.getLong("loadtest.geminiMedianMs", 50);
+    private static final double TOLERANCE = Double.parseDouble(System.getProperty("loadtest.tolerance", "0.5"));
+    private static final double SLACK_MILLIS = Double.parseDouble(System.getProperty("loadtest.slackMs", "5"));
+
+    private static final FakeGeminiServer GEMINI = startGemini();
+
+    @LocalServerPort
+    private int port;
+
+    private final HttpClient http = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .build();
+
+    private final Map<String, EndpointRecorder> recorders = new LinkedHashMap<>();
+
+    private volatile long measureFrom;
+    private volatile long measureUntil;
+
+    private static FakeGeminiServer startGemini() {
+        try {
+            return FakeGeminiServer.start()
+                    .latency(FakeGeminiServer.Latency.logNormal(
+                            Duration.ofMillis(GEMINI_MEDIAN_MILLIS), 0.5, Duration.ofSeconds(5)));
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not start the fake Gemini server", e);
+        }
+    }
+
+    @DynamicPropertySource
+    static void geminiProperties(DynamicPropertyRegistry registry) {
+        registry.add("gemini.flash.api.url", GEMINI::generateUrl);
+    }
+
+    @AfterAll
+    static void stopGemini() {
+        GEMINI.close();
+    }
+
+    @Test
+    void mixedWorkloadStaysWithinBaseline() throws Exception {
+        for (String endpoint : List.of(LOGIN, START_SESSION, TURN, SAVE_MESSAGE, LIST_SESSIONS, DAILY_VOCABULARY)) {
+            recorders.put(endpoint, new EndpointRecorder(endpoint));
+        }
+
+        long start = System.nanoTime();
+        measureFrom = start + WARMUP.toNanos();
+        measureUntil = measureFrom + DURATION.toNanos();
+
+        try (ExecutorService users = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> running = new ArrayList<>();
+            for (int i = 0; i < USERS; i++) {
+                int index = i;
+                running.add(users.submit(() -> {
+                    runUser(index);
+                    return null;
+                }));
+            }
+            for (Future<?> user : running) {
+                user.get();
+            }
+        }
+
+        double measuredSeconds = DURATION.toNanos() / 1e9;
+        LoadReport report = new LoadReport(USERS, measuredSeconds, GEMINI_MEDIAN_MILLIS,
+                recorders.values().stream().map(recorder -> recorder.summarize(measuredSeconds)).toList());
+        Files.createDirectories(REPORT.getParent());
+        MAPPER.writeValue(REPORT.toFile(), report);
+        System.out.println(MAPPER.writeValueAsString(report));
+
+        if (Boolean.getBoolean("loadtest.updateBaseline")) {
+            Files.createDirectories(BASELINE.getParent());
+            MAPPER.writeValue(BASELINE.toFile(), report);
+            return;
+        }
+        if (!Files.exists(BASELINE)) {
+            throw new IllegalStateException("No baseline at " + BASELINE + "; run with -Dloadtest.updateBaseline=true");
+        }
+        LoadReport baseline = MAPPER.readValue(BASELINE.toFile(), LoadReport.class);
+        List<String> regressions = report.regressionsAgainst(baseline, TOLERANCE, SLACK_MILLIS);
+        assertTrue(regressions.isEmpty(), "Load test regressions:\n" + String.join("\n", regressions));
+    }
+
+    private void runUser(int index) throws Exception {
+        String suffix = index + "-" + System.nanoTime();
+        String email = "load-" + suffix + "@example.com";
+        String password = "password-" + index;
+
+        // Sign-up happens once per user, during warm-up, so it isn't reported
+        JsonNode signup = send(null, post("/auth/signup", null, Map.of(
+                "username", "load-" + suffix,
+                "email", email,
+                "password", password,
+                "learningLanguage", "Spanish",
+                "nativeLanguage", "English")));
+        if (signup == null) {
+            return;
+        }
+        Map<String, String> credentials = Map.of("email", email, "password", password);
+        JsonNode login = send(LOGIN, post("/auth/login", null, credentials));
+        if (login == null) {
+            return;
+        }
+        String token = login.get("token").asText();
+        long userId = login.get("userId").asLong();
+        Long sessionId = startSession(token, userId);
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (System.nanoTime() < measureUntil) {
+            int roll = random.nextInt(100);
+            if (sessionId == null || roll < 10) {
+                Long started = startSession(token, userId);
+                sessionId = started != null ? started : sessionId;
+            } else if (roll < 50) {
+                send(TURN, post("/api/sessions/" + sessionId + "/turn", token,
+                        Map.of("message", SENTENCES[random.nextInt(SENTENCES.length)])));
+            } else if (roll < 65) {
+                send(SAVE_MESSAGE, post("/api/messages", token, Map.of(
+                        "chatSession", Map.of("sessionId", sessionId),
+                        "content", SENTENCES[random.nextInt(SENTENCES.length)],
+                        "timestamp", LocalDateTime.now().toString(),
+                        "senderType", "user")));
+            } else if (roll < 85) {
+                send(LIST_SESSIONS, get("/api/sessions/user/" + userId + "?limit=20", token));
+            } else if (roll < 95) {
+                send(DAILY_VOCABULARY, get("/api/vocabulary/daily/" + userId, token));
+            } else {
+                send(LOGIN, post("/auth/login", null, credentials));
+            }
+            long pause = THINK_TIME.toMillis();
+            if (pause > 0) {
+                Thread.sleep(random.nextLong(pause + 1));
+            }
+        }
+    }
+
+    private Long startSession(String token, long userId) throws InterruptedException {
+        JsonNode session = send(START_SESSION, post("/api/sessions/start?userId=" + userId
+                + "&languageUsed=Spanish&sessionTopic=Travel", token, null));
+        return session != null ? session.get("sessionId").asLong() : null;
+    }
+
+    /**
+     * Sends the request and records its latency under {@code endpoint} if it
+     * completed inside the measured window.
+     *
+     * @return the parsed body of a 2xx response, or {@code null} on any failure
+     */
+    private JsonNode send(String endpoint, HttpRequest request) throws InterruptedException {
+        long started = System.nanoTime();
+        JsonNode body = null;
+        boolean error;
+        try {
+            HttpResponse<String> response = http.send(request, HttpResponse.BodyHandlers.ofString());
+            error = response.statusCode() >= 400;
+            if (!error && !response.body().isEmpty()) {
+                body = MAPPER.readTree(response.body());
+            }
+        } catch (IOException e) {
+            error = true;
+        }
+        long finished = System.nanoTime();
+        if (endpoint != null && started >= measureFrom && finished <= measureUntil) {
+            recorders.get(endpoint).record(finished - started, error);
+        }
+        return error ? null : body;
+    }
+
+    private HttpRequest get(String path, String token) {
+        return request(path, token).GET().build();
+    }
+
+    private HttpRequest post(String path, String token, Object body) {
+        try {
+            HttpRequest.BodyPublisher publisher = body == null
+                    ? HttpRequest.BodyPublishers.noBody()
+                    : HttpRequest.BodyPublishers.ofString(MAPPER.writeValueAsString(body));
+            return request(path, token)
+                    .header("Content-Type", "application/json")
+                    .POST(publisher)
+                    .build();
+        } catch (IOException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+
+    private HttpRequest.Builder request(String path, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .timeout(Duration.ofSeconds(30));
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder;
+    }
+}
@@ -0,0 +1,58 @@
+package com.dino.backend.loadtest;
+
+import java.util.Arrays;
+
+/**
+ * Collects latency samples and error counts for one endpoint. Recording is
+ * synchronized; contention is negligible next to the HTTP round trips being
+ * measured.
+ */
+final class EndpointRecorder {
+
+    private final String name;
+    private long[] latencies = new long[1024];
+    private int count;
+    private int errors;
+
+    EndpointRecorder(String name) {
+        this.name = name;
+    }
+
+    synchronized void record(long latencyNanos, boolean error) {
+        if (count == latencies.length) {
+            latencies = Arrays.copyOf(latencies, count * 2);
+        }
+        latencies[count++] = latencyNanos;
+        if (error) {
+            errors++;
+        }
+    }
+
+    synchronized LoadReport.EndpointStats summarize(double measuredSeconds) {
+        long[] sorted = Arrays.copyOf(latencies, count);
+        Arrays.sort(sorted);
+        return new LoadReport.EndpointStats(
+                name,
+                count,
+                errors,
+                round(count / measuredSeconds),
+                count == 0 ? 0 : round((double) errors / count),
+                percentileMillis(sorted, 0.50),
+                percentileMillis(sorted, 0.95),
+                percentileMillis(sorted, 0.99),
+                count == 0 ? 0 : round(sorted[count - 1] / 1_000_000.0));
+    }
+
+    // Nearest-rank percentile
+    private static double percentileMillis(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(percentile * sorted.length) - 1;
+        return round(sorted[Math.max(0, rank)] / 1_000_000.0);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+}
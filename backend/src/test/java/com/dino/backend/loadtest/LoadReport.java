@@ -0,0 +1,61 @@
+package com.dino.backend.loadtest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Result of one load run, written as JSON next to the build output and
+ * compared against the checked-in baseline.
+ *
+ * @param users concurrent virtual users
+ * @param durationSeconds length of the measured window, excluding warm-up
+ * @param geminiMedianMillis median latency of the stubbed Gemini API
+ * @param endpoints per-endpoint statistics, in workload order
+ */
+record LoadReport(int users, double durationSeconds, long geminiMedianMillis, List<EndpointStats> endpoints) {
+
+    record EndpointStats(String endpoint, long requests, long errors, double rps, double errorRate,
+                         double p50Millis, double p95Millis, double p99Millis, double maxMillis) {
+    }
+
+    /**
+     * Lists every endpoint that got slower, lost throughput or failed more
+     * often than the baseline allows.
+     *
+     * @param baseline the stored reference run
+     * @param tolerance allowed relative slowdown of p95 and drop in RPS, e.g. 0.5 for 50%
+     * @param slackMillis absolute p95 slack, so sub-millisecond baselines don't flap
+     * @return human-readable regressions; empty if the run is within bounds
+     */
+    List<String> regressionsAgainst(LoadReport baseline, double tolerance, double slackMillis) {
+        List<String> regressions = new ArrayList<>();
+        for (EndpointStats expected : baseline.endpoints()) {
+            EndpointStats actual = endpoint(expected.endpoint());
+            if (actual == null || actual.requests() == 0) {
+                regressions.add(expected.endpoint() + ": no requests recorded");
+                continue;
+            }
+            double p95Limit = expected.p95Millis() * (1 + tolerance) + slackMillis;
+            if (actual.p95Millis() > p95Limit) {
+                regressions.add(String.format("%s: p95 %.2f ms exceeds %.2f ms (baseline %.2f ms)",
+                        expected.endpoint(), actual.p95Millis(), p95Limit, expected.p95Millis()));
+            }
+            double rpsFloor = expected.rps() * (1 - tolerance);
+            if (actual.rps() < rpsFloor) {
+                regressions.add(String.format("%s: %.2f req/s is below %.2f req/s (baseline %.2f req/s)",
+                        expected.endpoint(), actual.rps(), rpsFloor, expected.rps()));
+            }
+            // Error rates are compared in absolute terms; one percentage point of headroom
+            double errorLimit = expected.errorRate() + 0.01;
+            if (actual.errorRate() > errorLimit) {
+                regressions.add(String.format("%s: error rate %.2f%% exceeds %.2f%% (baseline %.2f%%)",
+                        expected.endpoint(), actual.errorRate() * 100, errorLimit * 100, expected.errorRate() * 100));
+            }
+        }
+        return regressions;
+    }
+
+    private EndpointStats endpoint(String name) {
+        return endpoints.stream().filter(stats -> stats.endpoint().equals(name)).findFirst().orElse(null);
+    }
+}
@@ -0,0 +1,128 @@
+package com.dino.backend.ratelimit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import com.dino.backend.security.AuthenticatedUser;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class RateLimitFilterTest {
+
+    private RateLimitProperties properties;
+    private RateLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        properties = new RateLimitProperties();
+        properties.setPerUserRequestsPerSecond(0.001);
+        properties.setPerUserBurst(2);
+        properties.setGlobalRequestsPerSecond(0.001);
+        properties.setGlobalBurst(3);
+        filter = new RateLimitFilter(properties, new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void anonymousRequestsDoNotDrainTheGlobalBucket() throws Exception {
+        for (int i = 0; i < 10; i++) {
+            MockFilterChain chain = new MockFilterChain();
+            MockHttpServletResponse response = send(chain);
+            // Passed on for Spring Security to reject
+            assertNotNull(chain.getRequest());
+            assertEquals(200, response.getStatus());
+        }
+
+        authenticateAs(1L);
+        MockFilterChain chain = new MockFilterChain();
+        send(chain);
+        assertNotNull(chain.getRequest());
+    }
+
+    @Test
+    void rejectsOnceTheUserBucketIsEmpty() throws Exception {
+        authenticateAs(1L);
+        send(new MockFilterChain());
+        send(new MockFilterChain());
+
+        MockFilterChain chain = new MockFilterChain();
+        MockHttpServletResponse response = send(chain);
+
+        assertNull(chain.getRequest());
+        assertEquals(429, response.getStatus());
+        assertNotNull(response.getHeader(HttpHeaders.RETRY_AFTER));
+    }
+
+    @Test
+    void rejectsOnceTheGlobalBucketIsEmpty() throws Exception {
+        for (long userId = 1; userId <= 3; userId++) {
+            authenticateAs(userId);
+            send(new MockFilterChain());
+        }
+
+        authenticateAs(4L);
+        MockFilterChain chain = new MockFilterChain();
+        MockHttpServletResponse response = send(chain);
+
+        assertNull(chain.getRequest());
+        assertEquals(429, response.getStatus());
+    }
+
+    @Test
+    void globalRejectionDoesNotUseTheUserToken() throws Exception {
+        properties.setPerUserBurst(1);
+        properties.setGlobalRequestsPerSecond(10);
+        properties.setGlobalBurst(1);
+        filter = new RateLimitFilter(properties, new SimpleMeterRegistry());
+
+        authenticateAs(2L);
+        send(new MockFilterChain());
+        authenticateAs(1L);
+        assertEquals(429, send(new MockFilterChain()).getStatus());
+
+        // Once the global bucket refills, user 1 still has the token the rejected request took
+        Thread.sleep(150);
+        MockFilterChain chain = new MockFilterChain();
+        send(chain);
+        assertNotNull(chain.getRequest());
+    }
+
+    @Test
+    void ignoresPathsThatAreNotLimited() throws Exception {
+        authenticateAs(1L);
+        for (int i = 0; i < 5; i++) {
+            MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/sessions/user/1");
+            MockFilterChain chain = new MockFilterChain();
+            filter.doFilter(request, new MockHttpServletResponse(), chain);
+            assertNotNull(chain.getRequest());
+        }
+    }
+
+    private MockHttpServletResponse send(MockFilterChain chain) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("POST", "/api/prompts/generate"), response, chain);
+        return response;
+    }
+
+    private static void authenticateAs(Long userId) {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                new AuthenticatedUser(userId, "user" + userId), null, List.of()));
+    }
+}
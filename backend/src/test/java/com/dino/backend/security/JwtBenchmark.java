@@ -0,0 +1,110 @@
+package com.dino.backend.security;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.dino.backend.config.UserCacheProperties;
+import com.dino.backend.model.User;
+import com.dino.backend.repository.UserRepository;
+import com.dino.backend.service.UserCache;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+
+/**
+ * Per-request cost of JWT authentication: a verified-claims cache hit, a full
+ * signature check and parse, validateToken, and the whole JwtRequestFilter.
+ *
+ * Run with {@code mvn test -Pjmh -Djmh.args=JwtBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtBenchmark {
+
+    private static final String SECRET = "benchmarksecretkeybenchmarksecretkeybenchmark";
+
+    private JwtUtil jwtUtil;
+    private JwtParser parser;
+    private JwtRequestFilter filter;
+    private String token;
+    private UserDetails userDetails;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "secret", SECRET);
+        ReflectionTestUtils.setField(jwtUtil, "expiration", TimeUnit.HOURS.toMillis(1));
+        ReflectionTestUtils.setField(jwtUtil, "claimsCacheSize", 10_000L);
+        ReflectionTestUtils.setField(jwtUtil, "meterRegistry", new SimpleMeterRegistry());
+        jwtUtil.init();
+        // The parser behind the claims cache: what every request paid before the cache
+        parser = (JwtParser) ReflectionTestUtils.getField(jwtUtil, "parser");
+        token = jwtUtil.generateToken("benchmark-user", 42L);
+        userDetails = org.springframework.security.core.userdetails.User
+                .withUsername("benchmark-user").password("").authorities(List.of()).build();
+
+        User user = new User();
+        user.setUserId(42L);
+        user.setUsername("benchmark-user");
+        UserRepository userRepository = Mockito.mock(UserRepository.class, Mockito.withSettings().stubOnly());
+        Mockito.when(userRepository.findById(42L)).thenReturn(Optional.of(user));
+
+        filter = new JwtRequestFilter();
+        ReflectionTestUtils.setField(filter, "jwtUtil", jwtUtil);
+        ReflectionTestUtils.setField(filter, "observationRegistry", ObservationRegistry.NOOP);
+        ReflectionTestUtils.setField(filter, "userCache", new UserCache(userRepository, new UserCacheProperties(), new SimpleMeterRegistry()));
+    }
+
+    @Benchmark
+    public Claims extractClaimsCached() {
+        return jwtUtil.extractAllClaims(token);
+    }
+
+    @Benchmark
+    public Claims parseAndVerify() {
+        return parser.parseClaimsJws(token).getBody();
+    }
+
+    @Benchmark
+    public Boolean validateToken() {
+        return jwtUtil.validateToken(token, userDetails);
+    }
+
+    @Benchmark
+    public MockHttpServletResponse filterRequest() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/sessions/user/42");
+        request.addHeader("Authorization", "Bearer " + token);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        try {
+            filter.doFilter(request, response, new MockFilterChain());
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+        return response;
+    }
+}
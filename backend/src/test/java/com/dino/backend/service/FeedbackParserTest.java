@@ -0,0 +1,89 @@
+package com.dino.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class FeedbackParserTest {
+
+    @Test
+    void parsesOneCorrection() {
+        List<FeedbackParser.Item> items = FeedbackParser.parse(
+                "[Original: Yo va] [Correction: Yo voy] [Explanation in English: first person of ir]");
+
+        assertEquals(List.of(new FeedbackParser.Item("Yo va", "Yo voy", "first person of ir")), items);
+    }
+
+    @Test
+    void parsesSeveralPairsInOrder() {
+        List<FeedbackParser.Item> items = FeedbackParser.parse(
+                "[Original: Yo va] [Correction: Yo voy] [Explanation: first person]\n"
+                        + "[Original: la problema] [Correction: el problema] [Explanation: masculine noun]");
+
+        assertEquals(List.of(
+                new FeedbackParser.Item("Yo va", "Yo voy", "first person"),
+                new FeedbackParser.Item("la problema", "el problema", "masculine noun")), items);
+    }
+
+    @Test
+    void keepsNestedBracketsInsideTheirBlock() {
+        List<FeedbackParser.Item> items = FeedbackParser.parse(
+                "[Original: ich [sehr] gern] [Correction: ich esse sehr gern] [Explanation: verb missing: essen]");
+
+        assertEquals(1, items.size());
+        assertEquals("ich [sehr] gern", items.get(0).original());
+        // Only the first colon ends the label
+        assertEquals("verb missing: essen", items.get(0).explanation());
+    }
+
+    @Test
+    void ignoresTruncatedTrailingBlock() {
+        String feedback = "[Original: Yo va] [Correction: Yo voy] [Explanation: first per";
+
+        List<FeedbackParser.Item> items = FeedbackParser.parse(feedback);
+
+        assertEquals(List.of(new FeedbackParser.Item("Yo va", "Yo voy", null)), items);
+        assertFalse(FeedbackParser.isWellFormed(feedback));
+    }
+
+    @Test
+    void noCorrectionNeededHasNoItems() {
+        String feedback = "[No Correction Needed: [Praise: ¡Perfecto!]]";
+
+        assertTrue(FeedbackParser.parse(feedback).isEmpty());
+        assertTrue(FeedbackParser.isWellFormed(feedback));
+    }
+
+    @Test
+    void dropsOriginalWithoutCorrection() {
+        String feedback = "[Original: Yo va] [Explanation: first person] [Original: tengo] [Correction: tengo que]";
+
+        List<FeedbackParser.Item> items = FeedbackParser.parse(feedback);
+
+        assertEquals(List.of(new FeedbackParser.Item("tengo", "tengo que", null)), items);
+        assertNull(items.get(0).explanation());
+    }
+
+    @Test
+    void unrecognisedFeedbackIsNotWellFormed() {
+        assertTrue(FeedbackParser.parse(null).isEmpty());
+        assertFalse(FeedbackParser.isWellFormed(null));
+        assertFalse(FeedbackParser.isWellFormed("Great job, no mistakes!"));
+        assertFalse(FeedbackParser.isWellFormed("[Original: Yo va]"));
+    }
+
+    @Test
+    void blocksWithoutColonsStayLinear() {
+        String feedback = "[a]".repeat(500_000);
+
+        assertTimeoutPreemptively(Duration.ofSeconds(2),
+                () -> assertTrue(FeedbackParser.parse(feedback).isEmpty()));
+    }
+}
@@ -0,0 +1,124 @@
+package com.dino.backend.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.dino.backend.config.ConversationWindowProperties;
+import com.dino.backend.config.FeedbackCacheProperties;
+import com.dino.backend.config.PromptProperties;
+import com.dino.backend.dto.ChatReply;
+import com.dino.backend.dto.PromptRequest;
+import com.dino.backend.integration.gemini.GeminiAPI;
+import com.dino.backend.integration.gemini.GeminiCallGate;
+import com.dino.backend.model.User;
+import com.dino.backend.repository.ChatSessionRepository;
+import com.dino.backend.repository.MessageRepository;
+import com.dino.backend.repository.UserRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+
+/**
+ * Prompt assembly for a chat turn whose history is sent by the client: system
+ * prompt, language instruction, windowed history and feedback cache lookup.
+ * Gemini and the repositories are stubbed, so only the in-process work is
+ * measured.
+ *
+ * Run with {@code mvn test -Pjmh -Djmh.args=PromptAssemblyBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PromptAssemblyBenchmark {
+
+    private static final String REPLY = """
+            {"candidates":[{"content":{"parts":[{"text":"{\\"conversation\\": \\"¡Muy bien! ¿Y qué película viste?\\", \\"feedback\\": \\"[Original: Yo va] [Correction: Yo voy] [Explanation: first person]\\"}"}]}}]}""";
+
+    @Param({"4", "40"})
+    private int historySize;
+
+    private GeminiService geminiService;
+    private PromptRequest request;
+
+    @Setup
+    public void setUp() throws Exception {
+        PromptRegistry promptRegistry = new PromptRegistry(new PathMatchingResourcePatternResolver(), new PromptProperties());
+        promptRegistry.loadAll();
+
+        User user = new User();
+        user.setUserId(42L);
+        user.setUsername("benchmark-user");
+        user.setLearningLanguage("Spanish");
+        user.setNativeLanguage("English");
+
+        // stubOnly: a recording mock would retain every invocation and skew the allocation profile
+        UserRepository userRepository = Mockito.mock(UserRepository.class, Mockito.withSettings().stubOnly());
+        Mockito.when(userRepository.findById(42L)).thenReturn(Optional.of(user));
+        GeminiAPI geminiAPI = Mockito.mock(GeminiAPI.class, Mockito.withSettings().stubOnly());
+        Mockito.when(geminiAPI.getResponse(ArgumentMatchers.anyString())).thenReturn(REPLY);
+        Mockito.when(geminiAPI.getResponseText(ArgumentMatchers.anyString())).thenReturn(ChatReplyParser.modelText(REPLY));
+
+        ConversationWindowProperties windowProperties = new ConversationWindowProperties();
+        ConversationWindowService conversationWindowService = new ConversationWindowService(
+                Mockito.mock(ChatSessionRepository.class, Mockito.withSettings().stubOnly()), geminiAPI,
+                Mockito.mock(GeminiCallGate.class, Mockito.withSettings().stubOnly()), promptRegistry, windowProperties);
+
+        geminiService = new GeminiService();
+        ReflectionTestUtils.setField(geminiService, "geminiAPI", geminiAPI);
+        ReflectionTestUtils.setField(geminiService, "promptLoaderService", new PromptLoaderService(promptRegistry, ObservationRegistry.NOOP));
+        ReflectionTestUtils.setField(geminiService, "userRepository", userRepository);
+        ReflectionTestUtils.setField(geminiService, "chatSessionRepository",
+                Mockito.mock(ChatSessionRepository.class, Mockito.withSettings().stubOnly()));
+        ReflectionTestUtils.setField(geminiService, "conversationWindowService", conversationWindowService);
+        ReflectionTestUtils.setField(geminiService, "conversationHistoryCache", new ConversationHistoryCache(
+                Mockito.mock(MessageRepository.class, Mockito.withSettings().stubOnly()),
+                Mockito.mock(MessageWriteBehind.class, Mockito.withSettings().stubOnly()), windowProperties));
+        ReflectionTestUtils.setField(geminiService, "observationRegistry", ObservationRegistry.NOOP);
+        ReflectionTestUtils.setField(geminiService, "feedbackCache", new FeedbackCache(
+                promptRegistry, new FeedbackCacheProperties(), new SimpleMeterRegistry()));
+
+        List<PromptRequest.Message> messages = new ArrayList<>();
+        for (int i = 0; i < historySize; i++) {
+            boolean fromUser = i % 2 == 0;
+            messages.add(new PromptRequest.Message((long) i, null, fromUser ? "user" : "bot",
+                    fromUser ? "Ayer fui al mercado y compré muchas frutas para mi familia " + i
+                             : "¡Qué bien! ¿Qué frutas compraste? Me encantan las naranjas " + i,
+                    null, null));
+        }
+        request = new PromptRequest();
+        request.setUserId(42L);
+        request.setLanguageUsed("Spanish");
+        request.setMessages(messages);
+    }
+
+    @Benchmark
+    public String getGeminiResponse() {
+        return geminiService.getGeminiResponse(request);
+    }
+
+    @Benchmark
+    public ChatReply getChatReply() {
+        return geminiService.getChatReply(request);
+    }
+}
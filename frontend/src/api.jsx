@@ -12,7 +12,7 @@ export const fetchChatSession = async (sessionId) => {
   return resp.json();
 };
 
-export const fetchAllSessions = async () => {
+export const fetchAllSessions = async (before = null) => {
   console.log("Attempting to fetch sessions...");
   const token = localStorage.getItem("token");
   if (!token) {
@@ -47,7 +47,9 @@ export const fetchAllSessions = async () => {
        throw new Error("Invalid user data");
   }
 
-  const sessionUrl = `${API_BASE_URL}/api/sessions/user/${user.userId}`;
+  // Returns { items, nextCursor }; pass nextCursor back as `before` for the next page
+  const cursor = before != null ? `?before=${before}` : "";
+  const sessionUrl = `${API_BASE_URL}/api/sessions/user/${user.userId}${cursor}`;
   console.log(`Fetching sessions from URL: ${sessionUrl}`); // Log exact URL
 
   try {
@@ -127,7 +129,8 @@ export const saveMessage = async (token, sessionId, content, senderType) => {
   return response.json();
 };
 
-export const sendPrompt = async ({ messages, language, sessionId, userId, topic }) => {
+// Only the new message is sent; the server rebuilds the history from the session
+export const sendPrompt = async ({ message, language, sessionId, userId, topic }) => {
   const token = localStorage.getItem("token");
 
   const response = await fetch(`${API_BASE_URL}/api/prompts/generate`, {
@@ -141,7 +144,7 @@ export const sendPrompt = async ({ messages, language, sessionId, userId, topic
       userId,
       languageUsed: language,
       sessionTopic: topic || "General",
-      messages,
+      message,
     }),
   });
 
@@ -151,6 +154,26 @@ export const sendPrompt = async ({ messages, language, sessionId, userId, topic
   return response.json();
 };
 
+// One round trip per turn: the server generates the reply and saves both messages
+export const sendTurn = async ({ sessionId, message, language }) => {
+  const token = localStorage.getItem("token");
+  if (!token) throw new Error("Not authenticated");
+
+  const response = await fetch(`${API_BASE_URL}/api/sessions/${sessionId}/turn`, {
+    method: "POST",
+    headers: {
+      "Content-Type": "application/json",
+      Authorization: `Bearer ${token}`,
+    },
+    body: JSON.stringify({ message, languageUsed: language }),
+  });
+
+  if (!response.ok) {
+    throw new Error(`Turn failed! Status: ${response.status}`);
+  }
+  return response.json();
+};
+
 export const endSession = async (sessionId) => {
   const token = localStorage.getItem("token");
   if (!token) throw new Error("Not authenticated");
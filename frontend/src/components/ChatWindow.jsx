@@ -26,7 +26,12 @@ export default function ChatWindow({ messages }) {
                     <span>There are grammar/spelling issues:</span>
                     <ul className="list-disc ml-5">
                       {msg.corrections.map((c, idx) => (
-                        <li key={idx}>{c}</li>
+                        <li key={c.correctionId ?? idx}>
+                          <span className="line-through">{c.originalText}</span>
+                          {" → "}
+                          <strong>{c.correctedText}</strong>
+                          {c.explanation && <span>: {c.explanation}</span>}
+                        </li>
                       ))}
                     </ul>
                   </div>
@@ -4,15 +4,21 @@ import { deleteSession, fetchAllSessions } from "../api";
 
 export default function Sidebar() {
   const [sessions, setSessions] = useState([]);
+  const [nextCursor, setNextCursor] = useState(null);
   const navigate = useNavigate();
 
-  useEffect(() => {
-    fetchAllSessions()
-      .then((fetchedSessions) => {
-        const sorted = fetchedSessions.sort((a, b) => new Date(b.startTime) - new Date(a.startTime));
-        setSessions(sorted);
+  // Sessions arrive newest first, one page at a time
+  const loadSessions = (before = null) => {
+    fetchAllSessions(before)
+      .then((page) => {
+        setSessions((current) => (before == null ? page.items : [...current, ...page.items]));
+        setNextCursor(page.nextCursor);
       })
       .catch((error) => console.error("Error fetching sessions:", error));
+  };
+
+  useEffect(() => {
+    loadSessions();
   }, []);
 
   const handleSelectSession = (session) => {
@@ -60,6 +66,13 @@ export default function Sidebar() {
             </li>
           ))
         )}
+        {nextCursor != null && (
+          <li>
+            <button className="w-full text-center" onClick={() => loadSessions(nextCursor)}>
+              Load more
+            </button>
+          </li>
+        )}
       </ul>
     </div>
   );
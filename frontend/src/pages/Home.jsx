@@ -4,8 +4,7 @@ import {
   addFeedback,
   endSession,
   fetchChatSession,
-  saveMessage,
-  sendPrompt,
+  sendTurn,
   startSession,
 } from "../api";
 import bronze from '../assets/bronze.svg';
@@ -16,19 +15,6 @@ import ChatInput from "../components/ChatInput";
 import ChatWindow from "../components/ChatWindow";
 import LanguageSelector from "../components/LanguageSelector";
 
-function parseCorrections(feedback = "") {
-  const pattern = /\[(?!no correction needed\])(.*?)\]/gi;
-  const matches = [];
-  let match;
-  while ((match = pattern.exec(feedback)) !== null) {
-    const correction = match[1].trim();
-    if (correction) {
-      matches.push(correction);
-    }
-  }
-  return matches;
-}
-
 export default function Home() {
   const { sessionId } = useParams();
   const navigate = useNavigate();
@@ -44,7 +30,6 @@ export default function Home() {
 
   const storedUser = localStorage.getItem("user");
   const userId = storedUser ? JSON.parse(storedUser).userId : null;
-  const token = localStorage.getItem("token");
   const topic = "General";
 
   useEffect(() => {
@@ -98,65 +83,19 @@ export default function Home() {
         setSessionIdState(currentSessionId);
       }
 
-      // Prepare the full message array for the backend
-      const formattedMessages = [...messages, userMessage].map((msg) => ({
-        content: msg.content,
-        senderType: msg.isUser ? "USER" : "BOT",
-      }));
-
-      const result = await sendPrompt({
-        messages: formattedMessages,
-        language,
+      // The server generates, parses and saves both messages in one call
+      const parsedResult = await sendTurn({
         sessionId: currentSessionId,
-        userId,
-        topic,
+        message: inputText,
+        language,
       });
 
-      // Safely parse the AI's JSON
-      const rawText = result.candidates?.[0]?.content?.parts?.[0]?.text ?? "";
-      let parsedResult;
-      try {
-        // Look for the last JSON object in the response
-        let jsonText = rawText;
-        
-        // Clean up markdown formatting if present
-        jsonText = jsonText.replace(/```json\n/g, "").replace(/\n```/g, "");
-        
-        // If there are multiple JSON objects, get the last complete one
-        const lastJsonStartIndex = jsonText.lastIndexOf("{");
-        if (lastJsonStartIndex !== -1) {
-          jsonText = jsonText.substring(lastJsonStartIndex);
-        }
-        
-        parsedResult = JSON.parse(jsonText);
-      } catch (err) {
-        console.error("❌ Failed to parse AI reply JSON:", err, "\nrawText:", rawText);
-        
-        // Fallback: Look for the conversation value directly with regex
-        const conversationMatch = rawText.match(/"conversation":\s*"([^"]+)"/);
-        const feedbackMatch = rawText.match(/"feedback":\s*"([^"]*?)"/);
-        
-        parsedResult = {
-          conversation: conversationMatch ? conversationMatch[1] : "⚠️ DinoAI didn't return proper JSON.",
-          feedback: feedbackMatch ? feedbackMatch[1] : "[Error: Could not parse AI reply.]",
-        };
-      }
-
       // Build AI message content
       const botReplyContent = parsedResult.conversation || "No conversation text.";
 
-      // Gather corrections from feedback using our helper function
-      const corrections = parseCorrections(parsedResult.feedback);
-
-      // Normalize the feedback text for comparison
-      const normalizedFeedback = parsedResult.feedback ? parsedResult.feedback.trim().toLowerCase() : "";
-
-      let feedbackAlertType;
-      if (normalizedFeedback.includes("no correction needed") || corrections.length === 0) {
-        feedbackAlertType = "success";
-      } else {
-        feedbackAlertType = "error";
-      }
+      // The server has already parsed the feedback into structured corrections
+      const corrections = parsedResult.corrections || [];
+      const feedbackAlertType = corrections.length === 0 ? "success" : "error";
 
       // Compose the AI message object including feedback data
       const aiMessage = {
@@ -176,10 +115,6 @@ export default function Home() {
         const newScore = Math.min(100, Math.max(0, prev + delta));
         return newScore;
       });
-
-      // Save user and AI messages to DB
-      await saveMessage(token, currentSessionId, inputText, "user");
-      await saveMessage(token, currentSessionId, botReplyContent, "bot");
     } catch (err) {
       console.error("Error in handleInputSubmit:", err);
       let errorMessage = "⚠️ Error talking to DinoAI. Please try again.";
@@ -12,7 +12,8 @@ const Vocabulary = () => {
   const API_BASE_URL = import.meta.env.VITE_API_BASE_URL || "http://localhost:8080";
 
   // Fetch vocabulary from backend
-  const fetchVocabulary = useCallback(async () => {
+  // regenerate=true replaces today's set; otherwise the stored one is returned
+  const fetchVocabulary = useCallback(async (regenerate = false) => {
     try {
       setLoading(true);
       setError(null);
@@ -45,8 +46,9 @@ const Vocabulary = () => {
       // Fetch vocabulary using the user ID
       console.log(`Fetching vocabulary for user ID ${userId}...`);
       const vocabRes = await fetch(
-        `${API_BASE_URL}/api/vocabulary/daily/${userId}`,
+        `${API_BASE_URL}/api/vocabulary/daily/${userId}${regenerate ? "/regenerate" : ""}`,
         {
+          method: regenerate ? "POST" : "GET",
           headers: { Authorization: `Bearer ${token}` },
           // Add cache-busting query param to prevent caching
           cache: 'no-cache',
@@ -117,7 +119,7 @@ const Vocabulary = () => {
   const refreshVocabulary = () => {
     setLoading(true);
     setError(null);
-    fetchVocabulary();
+    fetchVocabulary(true);
   };
 
   const goToNextWord = () => {